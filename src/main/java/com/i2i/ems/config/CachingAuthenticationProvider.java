@@ -0,0 +1,64 @@
+package com.i2i.ems.config;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.i2i.ems.util.BasicCredentialCache;
+
+/**
+ * <p>
+ * Authentication provider that remembers successful username and password authentications
+ * for a short time, so that clients sending the same credentials on every request,
+ * such as HTTP Basic clients, are verified by a cache lookup instead of a password hash.
+ * Failed authentications are never cached.
+ * </p>
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+  private final AuthenticationProvider delegate;
+  private final BasicCredentialCache credentialCache;
+
+  public CachingAuthenticationProvider(AuthenticationProvider delegate, BasicCredentialCache credentialCache) {
+    this.delegate = delegate;
+    this.credentialCache = credentialCache;
+  }
+
+  /**
+   * <p>
+   * Authenticates with the cached result for the credentials, or with the delegate provider
+   * when the credentials are not cached.
+   * </p>
+   *
+   * @param authentication the authentication request.
+   * @return {@link Authentication} fully authenticated object.
+   * @throws AuthenticationException if the authentication fails.
+   */
+  @Override
+  public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+    Object credentials = authentication.getCredentials();
+    if (null == authentication.getName() || null == credentials) {
+      return delegate.authenticate(authentication);
+    }
+    String key = credentialCache.key(authentication.getName(), credentials.toString());
+    UserDetails user = credentialCache.get(key);
+    if (null != user) {
+      UsernamePasswordAuthenticationToken result =
+          UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+      result.setDetails(authentication.getDetails());
+      return result;
+    }
+    Authentication result = delegate.authenticate(authentication);
+    if (null != result && result.getPrincipal() instanceof UserDetails authenticatedUser) {
+      credentialCache.put(key, authenticatedUser);
+    }
+    return result;
+  }
+
+  @Override
+  public boolean supports(Class<?> authentication) {
+    return delegate.supports(authentication);
+  }
+}
@@ -3,11 +3,14 @@ package com.i2i.ems.config;
 import com.i2i.ems.helper.UnAuthorizedException;
 import com.i2i.ems.service.UserService;
 import com.i2i.ems.util.JwtTokenUtil;
+import com.i2i.ems.util.TokenRevocationList;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -30,6 +33,15 @@ public class JwtTokenFilter extends OncePerRequestFilter {
   @Autowired
   private UserService userService;
 
+  @Autowired
+  private JwtTokenUtil jwtTokenUtil;
+
+  @Autowired
+  private TokenRevocationList tokenRevocationList;
+
+  @Value("${ems.security.stateless-authentication:false}")
+  private boolean statelessAuthentication;
+
   public JwtTokenFilter(HandlerExceptionResolver handlerExceptionResolver) {
     this.handlerExceptionResolver = handlerExceptionResolver;
   }
@@ -50,6 +62,22 @@ public class JwtTokenFilter extends OncePerRequestFilter {
     return request.getRequestURI().contains("/login") || request.getRequestURI().contains("/register");
   }
 
+  /**
+   * <p>
+   *   Checks if the request carries HTTP Basic credentials,
+   *   which are authenticated by the basic authentication filter instead of this filter.
+   * </p>
+   *
+   * @param request
+   *    HttpServletRequest object to check the Authorization header of.
+   * @return boolean
+   *     returns true if the Authorization header uses the Basic scheme.
+   */
+  private boolean isBasicRequest(HttpServletRequest request) {
+    String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+    return header != null && header.regionMatches(true, 0, "Basic ", 0, 6);
+  }
+
   /**
    * <p>
    *   Validates the Authorization header.
@@ -58,16 +86,12 @@ public class JwtTokenFilter extends OncePerRequestFilter {
    * @param request
    *        HttpServletRequest object to validate the Authorization header.
    * @return String
-   *         Authorization header.
+   *         jwt token of the Authorization header.
    * @throws UnAuthorizedException
-   *         if the Authorization header is invalid(null or does not start with "Bearer ").
+   *         if the Authorization header is invalid(null, does not start with "Bearer " or has no token).
    */
   private String validateHeader(HttpServletRequest request) {
-    String header = request.getHeader(HttpHeaders.AUTHORIZATION);
-    if (header == null || !header.startsWith("Bearer ")) {
-      throw new UnAuthorizedException("Invalid Authorization header");
-    }
-    return header;
+    return JwtTokenUtil.getBearerToken(request.getHeader(HttpHeaders.AUTHORIZATION));
   }
 
   /**
@@ -77,24 +101,48 @@ public class JwtTokenFilter extends OncePerRequestFilter {
    *
    * @param request
    *       HttpServletRequest object to validate the jwt token.
-   * @return jwt token
-   *         valid token from the Authorization header to be used for other operations.
+   * @return {@link Claims}
+   *         claims of the valid token from the Authorization header to be used for other operations.
    * @throws UnAuthorizedException
-   *         if the jwt token is invalid.
+   *         if the jwt token is invalid or revoked.
+   */
+  private Claims validateToken(HttpServletRequest request) throws UnAuthorizedException {
+    String token = validateHeader(request);
+    Claims claims = jwtTokenUtil.verify(token);
+    if (tokenRevocationList.isRevoked(claims)) {
+      throw new UnAuthorizedException("Token revoked");
+    }
+    return claims;
+  }
+
+  /**
+   * <p>
+   *   Resolves the user identity of the verified token.
+   *   When stateless authentication is enabled and the token carries the identity claims,
+   *   the identity is built from the claims without a database lookup.
+   *   Otherwise the user is loaded by the subject of the token.
+   * </p>
+   *
+   * @param claims
+   *        claims of the verified jwt token.
+   * @return {@link UserDetails}
+   *         identity of the user who sent the request.
    */
-  private String validateToken(HttpServletRequest request) throws UnAuthorizedException {
-    String header = validateHeader(request);
-    String token = header.split(" ")[1].trim();
-    if (!JwtTokenUtil.validate(token)) {
-      throw new UnAuthorizedException("Invalid token");
+  private UserDetails loadUserDetails(Claims claims) {
+    if (statelessAuthentication) {
+      UserDetails principal = jwtTokenUtil.getPrincipal(claims);
+      if (null != principal) {
+        return principal;
+      }
     }
-    return token;
+    return userService.loadUserByUsername(claims.getSubject());
   }
 
   /**
    * <p>
    * Filter to validate jwt token and set user identity on spring security context.
-   * If the request is an authentication request, it passes the request and response to the next filter.
+   * If the request is an authentication request or carries HTTP Basic credentials,
+   * it passes the request and response to the next filter.
    * Otherwise it validates the jwt token and sets the user identity on spring security context.
    * If the jwt token is invalid or expired, it throws an UnAuthorizedException.
    * </p>
@@ -111,13 +159,13 @@ public class JwtTokenFilter extends OncePerRequestFilter {
                                FilterChain chain)
       throws ServletException, IOException {
 
-    if (isAuthRequest(request)) {
+    if (isAuthRequest(request) || isBasicRequest(request)) {
       chain.doFilter(request, response);
       return;
     }
 
     try {
-      final String token = validateToken(request);
+      final Claims claims = validateToken(request);
 
       // If the user is already authenticated, do not authenticate again
       if (SecurityContextHolder.getContext().getAuthentication() != null) {
@@ -125,13 +173,17 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         return;
       }
 
-      UserDetails userDetails = userService.loadUserByUsername(JwtTokenUtil.getUsername(token));
+      UserDetails userDetails = loadUserDetails(claims);
 
       if (userDetails == null) {
         chain.doFilter(request, response);
         return;
       }
 
+      if (!userDetails.isEnabled()) {
+        throw new UnAuthorizedException("Account is disabled");
+      }
+
       UsernamePasswordAuthenticationToken
           authentication = new UsernamePasswordAuthenticationToken(
           userDetails, null,
@@ -2,16 +2,19 @@ package com.i2i.ems.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -19,6 +22,13 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.i2i.ems.model.Type;
+import com.i2i.ems.util.BasicCredentialCache;
+import com.i2i.ems.util.BoundedPasswordEncoder;
+import com.i2i.ems.util.CalibratedBCryptPasswordEncoder;
+
 /**
  * <p>
  * Configures the security settings for the application.
@@ -28,12 +38,16 @@ import org.springframework.web.servlet.HandlerExceptionResolver;
 @EnableWebSecurity
 public class SecurityConfig {
 
-  private final static int STRENGTH = 12;
   private final static String[] WHITELIST = {
       "/v1/employees/login",
       "/v1/employees/register"
   };
 
+  private final static String[] ADMIN_ONLY = {
+      "/v1/employees/import",
+      "/v1/employees/skills"
+  };
+
   @Autowired
   @Qualifier("handlerExceptionResolver")
   private HandlerExceptionResolver handlerExceptionResolver;
@@ -41,6 +55,33 @@ public class SecurityConfig {
   @Autowired
   private UserDetailsService userDetailsService;
 
+  @Autowired
+  private UserDetailsPasswordService userDetailsPasswordService;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private BasicCredentialCache basicCredentialCache;
+
+  @Value("${ems.password.bcrypt.target-millis:250}")
+  private long bcryptTargetMillis;
+
+  @Value("${ems.password.bcrypt.min-strength:10}")
+  private int bcryptMinStrength;
+
+  @Value("${ems.password.bcrypt.max-strength:16}")
+  private int bcryptMaxStrength;
+
+  @Value("${ems.password.hashing.threads:2}")
+  private int hashingThreads;
+
+  @Value("${ems.password.hashing.queue-capacity:50}")
+  private int hashingQueueCapacity;
+
+  @Value("${ems.password.hashing.retry-after-seconds:5}")
+  private long hashingRetryAfterSeconds;
+
   @Bean
   public JwtTokenFilter jwtTokenFilter() {
     return new JwtTokenFilter(handlerExceptionResolver);
@@ -60,6 +101,7 @@ public class SecurityConfig {
     http.csrf(AbstractHttpConfigurer::disable)
         .authorizeHttpRequests(customizer -> customizer
             .requestMatchers(WHITELIST).permitAll()
+            .requestMatchers(HttpMethod.POST, ADMIN_ONLY).hasAuthority(Type.ADMIN.name())
             .anyRequest().authenticated())
         .formLogin(Customizer.withDefaults())
         .httpBasic(Customizer.withDefaults())
@@ -71,6 +113,8 @@ public class SecurityConfig {
   /**
    * <p>
    * Configures the authentication provider.
+   * Successful authentications are cached for a short time, so that HTTP Basic clients
+   * do not pay for a password hash verification on every request.
    * </p>
    *
    * @return {@link AuthenticationProvider} custom authentication provider.
@@ -79,8 +123,9 @@ public class SecurityConfig {
   public AuthenticationProvider configureAuthenticationProvider() {
     DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
     authProvider.setUserDetailsService(userDetailsService);
-    authProvider.setPasswordEncoder(new BCryptPasswordEncoder(STRENGTH));
-    return authProvider;
+    authProvider.setPasswordEncoder(configurePasswordEncoder());
+    authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
+    return new CachingAuthenticationProvider(authProvider, basicCredentialCache);
   }
 
   /**
@@ -105,12 +150,18 @@ public class SecurityConfig {
   /**
    * <p>
    * Configures the password encoder.
+   * The bcrypt cost is calibrated at startup to the target latency on the current hardware,
+   * and hashing runs on a dedicated bounded executor, so login and register bursts
+   * cannot occupy every request thread.
    * </p>
    *
-   * @return {@link BCryptPasswordEncoder}custom password encoder with strength.
+   * @return {@link PasswordEncoder} calibrated bcrypt password encoder, bounded by the hashing executor.
    */
-  @Bean
-  public BCryptPasswordEncoder configurePasswordEncoder() {
-    return new BCryptPasswordEncoder(STRENGTH);
+  @Bean(destroyMethod = "shutdown")
+  public PasswordEncoder configurePasswordEncoder() {
+    PasswordEncoder encoder = CalibratedBCryptPasswordEncoder.calibrate(bcryptTargetMillis,
+        bcryptMinStrength, bcryptMaxStrength);
+    return new BoundedPasswordEncoder(encoder, hashingThreads,
+        hashingQueueCapacity, hashingRetryAfterSeconds, meterRegistry);
   }
 }
\ No newline at end of file
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.i2i.ems.dto.AccountDto;
 import com.i2i.ems.service.AccountService;
@@ -37,14 +38,23 @@ public class AccountController {
    * Retrieves the account details of the employee
    * </p>
    *
+   * <p>
+   * A request whose If-None-Match holds the current tag of the account is answered with 304.
+   * </p>
+   *
    * @param employeeId employee id whose account details are to be retrieved
+   * @param request    web request holding the tags already known to the client
    * @return {@link AccountDto} account object of the employee with http status code 200
    * @throws EmployeeException if employee account is not found
    */
   @GetMapping
-  public ResponseEntity<AccountDto> getAccount(@PathVariable int employeeId)
+  public ResponseEntity<AccountDto> getAccount(@PathVariable int employeeId, WebRequest request)
       throws EmployeeException {
-    return new ResponseEntity<>(accountService.getEmployeeAccount(employeeId), HttpStatus.OK);
+    String tag = accountService.getAccountTag(employeeId);
+    if (null != tag && request.checkNotModified(tag)) {
+      return null;
+    }
+    return ResponseEntity.ok().eTag(tag).body(accountService.getEmployeeAccount(employeeId));
   }
 
   /**
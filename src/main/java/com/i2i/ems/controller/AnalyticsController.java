@@ -0,0 +1,37 @@
+package com.i2i.ems.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.i2i.ems.dto.HeadcountDto;
+import com.i2i.ems.service.HeadcountService;
+
+/**
+ * <p>
+ * Controller that handles the analytics of the employees.
+ * </p>
+ */
+@RestController
+@RequestMapping("v1/analytics")
+public class AnalyticsController {
+
+  @Autowired
+  private HeadcountService headcountService;
+
+  /**
+   * <p>
+   * Retrieves the headcount of the active employees by department, designation,
+   * level, skill category and age band.
+   * </p>
+   *
+   * @return {@link HeadcountDto} headcount of the employees with http status code 200
+   */
+  @GetMapping("/headcount")
+  public ResponseEntity<HeadcountDto> getHeadcount() {
+    return new ResponseEntity<>(headcountService.getHeadcount(), HttpStatus.OK);
+  }
+}
@@ -1,22 +1,49 @@
 package com.i2i.ems.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import com.i2i.ems.helper.EmployeeException;
+import com.i2i.ems.helper.TooManyRequestsException;
+import com.i2i.ems.helper.UnAuthorizedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import com.i2i.ems.dto.BulkSkillAssignmentDto;
+import com.i2i.ems.dto.CursorPage;
+import com.i2i.ems.dto.EmployeeBatch;
 import com.i2i.ems.dto.EmployeeDto;
+import com.i2i.ems.dto.EmployeeFields;
+import com.i2i.ems.dto.FileFormat;
+import com.i2i.ems.dto.ImportReport;
+import com.i2i.ems.dto.SkillAssignmentReport;
 import com.i2i.ems.helper.ForbiddenException;
+import com.i2i.ems.service.EmployeeImportService;
+import com.i2i.ems.service.EmployeeSearchService;
+import com.i2i.ems.service.SkillAssignmentService;
+import com.i2i.ems.service.SkillService;
 import com.i2i.ems.service.EmployeeService;
+import com.i2i.ems.util.JwtTokenUtil;
+import com.i2i.ems.util.LoginRateLimiter;
 
 /**
  * <p>
@@ -28,10 +55,26 @@ import com.i2i.ems.service.EmployeeService;
 public class EmployeeController {
 
   private static final Logger logger = LogManager.getLogger(EmployeeController.class);
+  private static final int GZIP_BUFFER_SIZE = 8192;
 
   @Autowired
   private EmployeeService employeeService;
 
+  @Autowired
+  private EmployeeImportService employeeImportService;
+
+  @Autowired
+  private EmployeeSearchService employeeSearchService;
+
+  @Autowired
+  private SkillService skillService;
+
+  @Autowired
+  private SkillAssignmentService skillAssignmentService;
+
+  @Autowired
+  private LoginRateLimiter loginRateLimiter;
+
   /**
    * <p>
    * Adding new employee
@@ -55,34 +98,326 @@ public class EmployeeController {
    * Getting employee details by id
    * </p>
    *
-   * @param id employee id to get details
+   * <p>
+   * The details are tagged with the versions of the employee and the current date, which the age
+   * depends on. A request whose If-None-Match holds the current tag is answered with 304
+   * without loading the employee.
+   * </p>
+   *
+   * @param id      employee id to get details
+   * @param request web request holding the tags already known to the client
    * @return {@link EmployeeDto} employee details with http status code 200 if employee exists
    * @throws ForbiddenException if the logged-in user is not retrieving their own details
    */
   @GetMapping("{id}")
-  public ResponseEntity<EmployeeDto> getEmployee(@PathVariable int id, Principal principal)
+  public ResponseEntity<EmployeeDto> getEmployee(@PathVariable int id, Principal principal, WebRequest request)
       throws ForbiddenException {
     logger.debug("Getting employee {}", id);
-    return new ResponseEntity<>(employeeService.getEmployee(id, principal.getName()), HttpStatus.OK);
+    String tag = employeeService.getEmployeeTag(id, principal.getName());
+    if (null != tag && request.checkNotModified(tag)) {
+      return null;
+    }
+    return ResponseEntity.ok().eTag(tag).body(employeeService.getEmployee(id, principal.getName()));
+  }
+
+  /**
+   * <p>
+   * Getting the picked fields of the employee by id, such as {@code name,email,role.designation}.
+   * Only the picked fields are read, and the account, role and skills only when any of their fields is picked.
+   * </p>
+   * <p>
+   * The fields are tagged with the versions of the employee, the current date and the picked fields,
+   * a request whose If-None-Match holds the current tag is answered with 304.
+   * </p>
+   *
+   * @param id      employee id to get details
+   * @param fields  comma separated names of the fields to get
+   * @param request web request holding the tags already known to the client
+   * @return {@link Map} picked fields of the employee with http status code 200 if employee exists
+   * @throws ForbiddenException if the logged-in user is not retrieving their own details
+   */
+  @GetMapping(value = "{id}", params = "fields")
+  public ResponseEntity<Map<String, Object>> getEmployeeFields(@PathVariable int id, @RequestParam String fields,
+                                                               Principal principal, WebRequest request)
+      throws ForbiddenException {
+    logger.debug("Getting fields {} of employee {}", fields, id);
+    EmployeeFields employeeFields = EmployeeFields.of(fields, EmployeeFields.ASSOCIATIONS.keySet());
+    String tag = employeeService.getEmployeeTag(id, principal.getName());
+    if (null != tag) {
+      tag += "-" + Integer.toHexString(employeeFields.getKey().hashCode());
+      if (request.checkNotModified(tag)) {
+        return null;
+      }
+    }
+    return ResponseEntity.ok()
+        .eTag(tag)
+        .body(employeeService.getEmployeeFields(id, principal.getName(), employeeFields));
+  }
+
+  /**
+   * <p>
+   * Getting all employees, written to the response as they are read
+   * </p>
+   *
+   * @param page     page number
+   *                 default value is 0
+   * @param size     number of employees per page
+   *                 default value is 10
+   * @param response HttpServletResponse object the page is written to
+   * @throws EmployeeException if the employee details are unable to retrieve
+   * @throws IOException       if the response cannot be written
+   */
+  @GetMapping
+  public void getAllEmployees(@RequestParam(defaultValue = "0") int page,
+                              @RequestParam(defaultValue = "10") int size,
+                              HttpServletResponse response) throws IOException {
+    logger.debug("Getting all employees");
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    employeeService.writeAllEmployees(page, size, response.getOutputStream());
   }
 
   /**
    * <p>
-   * Getting all employees
+   * Getting the picked fields of all employees, such as {@code name,email,role.designation}.
+   * Only the picked fields are read. The account of other employees cannot be picked.
+   * Fields cannot be picked along with a cursor, see {@link #getEmployeesAfter},
+   * and are picked from the given employees along with ids, see {@link #getEmployeesFields}.
    * </p>
    *
+   * @param page     page number
+   *                 default value is 0
+   * @param size     number of employees per page
+   *                 default value is 10
+   * @param fields   comma separated names of the fields to get
+   * @param response HttpServletResponse object the page is written to
+   * @throws EmployeeException if the employee details are unable to retrieve
+   * @throws IOException       if the response cannot be written
+   */
+  @GetMapping(params = {"fields", "!cursor", "!ids"})
+  public void getAllEmployeeFields(@RequestParam(defaultValue = "0") int page,
+                                   @RequestParam(defaultValue = "10") int size,
+                                   @RequestParam String fields,
+                                   HttpServletResponse response) throws IOException {
+    logger.debug("Getting fields {} of all employees", fields);
+    EmployeeFields employeeFields = EmployeeFields.of(fields, Set.of("role", "skills"));
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    employeeService.writeEmployeeFields(page, size, employeeFields, response.getOutputStream());
+  }
+
+  /**
+   * <p>
+   * Getting the employees with the given ids in one round trip, in the order of the ids.
+   * Ids of employees that are not found or that the logged-in user is not authorized to view
+   * are reported apart instead of failing the request.
+   * </p>
+   *
+   * @param ids employee ids to get details, at most the maximum page size
+   * @return {@link EmployeeBatch<EmployeeDto>} employees found along with the ids missing and forbidden
+   *         with http status code 200
+   * @throws IllegalArgumentException if no ids or too many ids are given
+   * @throws EmployeeException        if the employee details are unable to retrieve
+   */
+  @GetMapping(params = {"ids", "!fields"})
+  public ResponseEntity<EmployeeBatch<EmployeeDto>> getEmployees(@RequestParam List<Integer> ids,
+                                                                 Principal principal) {
+    logger.debug("Getting employees {}", ids);
+    return new ResponseEntity<>(employeeService.getEmployees(ids, principal.getName()), HttpStatus.OK);
+  }
+
+  /**
+   * <p>
+   * Getting the picked fields of the employees with the given ids in one round trip, in the order of the ids.
+   * Only the picked fields are read, the ids not found or not authorized are reported as for all the details.
+   * </p>
+   *
+   * @param ids    employee ids to get fields, at most the maximum page size
+   * @param fields comma separated names of the fields to get
+   * @return {@link EmployeeBatch<Map>} picked fields of the employees found along with the ids missing
+   *         and forbidden with http status code 200
+   * @throws IllegalArgumentException if no ids or too many ids are given, or a field cannot be picked
+   * @throws EmployeeException        if the employee details are unable to retrieve
+   */
+  @GetMapping(params = {"ids", "fields"})
+  public ResponseEntity<EmployeeBatch<Map<String, Object>>> getEmployeesFields(@RequestParam List<Integer> ids,
+                                                                               @RequestParam String fields,
+                                                                               Principal principal) {
+    logger.debug("Getting fields {} of employees {}", fields, ids);
+    EmployeeFields employeeFields = EmployeeFields.of(fields, EmployeeFields.ASSOCIATIONS.keySet());
+    return new ResponseEntity<>(employeeService.getEmployeesFields(ids, principal.getName(), employeeFields),
+        HttpStatus.OK);
+  }
+
+  /**
+   * <p>
+   * Getting the employees with the ids given in the body, for lists of ids too long for the query string.
+   * </p>
+   *
+   * @param ids employee ids to get details, at most the maximum page size
+   * @return {@link EmployeeBatch<EmployeeDto>} employees found along with the ids missing and forbidden
+   *         with http status code 200
+   * @throws IllegalArgumentException if no ids or too many ids are given
+   * @throws EmployeeException        if the employee details are unable to retrieve
+   */
+  @PostMapping("/batch")
+  public ResponseEntity<EmployeeBatch<EmployeeDto>> getEmployeesByIds(@RequestBody List<Integer> ids,
+                                                                      Principal principal) {
+    logger.debug("Getting {} employees", ids.size());
+    return new ResponseEntity<>(employeeService.getEmployees(ids, principal.getName()), HttpStatus.OK);
+  }
+
+  /**
+   * <p>
+   * Getting employees page by page with a cursor, in id order.
+   * Each page costs the same however deep into the list it is.
+   * </p>
+   *
+   * @param cursor cursor returned with the previous page
+   *               empty for the first page
+   * @param size   number of employees per page
+   *               default value is 10
+   * @param fields fields to get, which cannot be picked along with a cursor
+   * @return {@link CursorPage<EmployeeDto>} employees of the page and the cursor of the next page
+   *         with http status code 200
+   * @throws IllegalArgumentException if fields are picked
+   * @throws EmployeeException        if the employee details are unable to retrieve
+   */
+  @GetMapping(params = "cursor")
+  public ResponseEntity<CursorPage<EmployeeDto>> getEmployeesAfter(@RequestParam String cursor,
+                                                                  @RequestParam(defaultValue = "10") int size,
+                                                                  @RequestParam(required = false) String fields) {
+    logger.debug("Getting employees after cursor {}", cursor);
+    if (null != fields) {
+      throw new IllegalArgumentException("Fields cannot be picked along with a cursor");
+    }
+    return new ResponseEntity<>(employeeService.getEmployeesAfter(cursor, size), HttpStatus.OK);
+  }
+
+  /**
+   * <p>
+   * Searching employees by the start of the words of their name, role and skills, or of their email.
+   * Every word of the query has to match.
+   * </p>
+   *
+   * @param q    words to be searched
+   * @param size maximum number of employees returned
+   *             default value is 10
+   * @return {@link List<EmployeeDto>} matching employees in id order with http status code 200
+   * @throws EmployeeException if the employee details are unable to retrieve
+   */
+  @GetMapping("/search")
+  public ResponseEntity<List<EmployeeDto>> searchEmployees(@RequestParam String q,
+                                                           @RequestParam(defaultValue = "10") int size) {
+    logger.debug("Searching employees for {}", q);
+    return new ResponseEntity<>(employeeSearchService.searchEmployees(q, size), HttpStatus.OK);
+  }
+
+  /**
+   * <p>
+   * Getting employees by a combination of their skills, in id order.
+   * At least one of all or any has to be given.
+   * </p>
+   *
+   * @param all  ids of the skills every employee has
+   * @param any  ids of the skills of which every employee has at least one
+   * @param none ids of the skills no employee has
    * @param page page number
    *             default value is 0
    * @param size number of employees per page
    *             default value is 10
-   * @return {@link List<EmployeeDto>} list of employees with http status code 200
-   * @throws EmployeeException if the employee details are unable to retrieve
+   * @return {@link Page<EmployeeDto>} employees of the page along with the number of matching employees
+   *         with http status code 200
+   * @throws IllegalArgumentException if neither all nor any is given
+   * @throws EmployeeException        if the employee details are unable to retrieve
    */
-  @GetMapping
-  public ResponseEntity<Page<EmployeeDto>> getAllEmployees(@RequestParam(defaultValue = "0") int page,
-                                                           @RequestParam(defaultValue = "10") int size) {
-    logger.debug("Getting all employees");
-    return new ResponseEntity<>(employeeService.getAllEmployees(page, size), HttpStatus.OK);
+  @GetMapping("/with-skills")
+  public ResponseEntity<Page<EmployeeDto>> getEmployeesWithSkills(
+      @RequestParam(defaultValue = "") List<Integer> all,
+      @RequestParam(defaultValue = "") List<Integer> any,
+      @RequestParam(defaultValue = "") List<Integer> none,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "10") int size) {
+    logger.debug("Getting employees with all of {}, any of {} and none of {} skills", all, any, none);
+    return new ResponseEntity<>(skillService.getEmployeesWithSkills(all, any, none, page, size), HttpStatus.OK);
+  }
+
+  /**
+   * <p>
+   * Exporting all employees as NDJSON or CSV, streamed straight to the response.
+   * </p>
+   *
+   * @param format   format of the export, ndjson or csv
+   *                 default value is ndjson
+   * @param gzip     whether the export is gzip compressed
+   *                 default value is false
+   * @param response HttpServletResponse object the employees are written to
+   * @throws IllegalArgumentException if the format is not supported
+   * @throws EmployeeException        if the employee details are unable to export
+   * @throws IOException              if the response cannot be written
+   */
+  @GetMapping("/export")
+  public void exportEmployees(@RequestParam(defaultValue = "ndjson") String format,
+                              @RequestParam(defaultValue = "false") boolean gzip,
+                              HttpServletResponse response) throws IOException {
+    logger.debug("Exporting employees as {}", format);
+    FileFormat exportFormat = FileFormat.of(format);
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(exportFormat.getContentType());
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+        "attachment; filename=\"employees." + exportFormat.getExtension() + "\"");
+    if (gzip) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    try (OutputStream outputStream = gzip
+        ? new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE)
+        : response.getOutputStream()) {
+      employeeService.exportEmployees(exportFormat, outputStream);
+    }
+  }
+
+  /**
+   * <p>
+   * Importing employees in bulk from an NDJSON or CSV request body, which may be gzip encoded.
+   * The format is taken from the content type of the request.
+   * Rows that cannot be imported are reported without stopping the import.
+   * </p>
+   *
+   * @param request HttpServletRequest object the employees are read from
+   * @return {@link ImportReport} number of imported employees and the rows that failed
+   *         with http status code 200
+   * @throws EmployeeException if the employees are unable to import
+   * @throws IOException       if the request cannot be read
+   */
+  @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+  public ResponseEntity<ImportReport> importEmployees(HttpServletRequest request) throws IOException {
+    FileFormat importFormat = FileFormat.ofContentType(request.getContentType());
+    logger.debug("Importing employees as {}", importFormat);
+    try (InputStream inputStream = "gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))
+        ? new GZIPInputStream(request.getInputStream())
+        : request.getInputStream()) {
+      return new ResponseEntity<>(employeeImportService.importEmployees(importFormat, inputStream), HttpStatus.OK);
+    }
+  }
+
+  /**
+   * <p>
+   * Assigning skills to and removing skills from many employees at once.
+   * Skills assigned that do not exist yet are created.
+   * </p>
+   *
+   * @param assignment skills to be assigned and removed by employee id and skill name,
+   *                   along with the details of the skills to be created
+   * @return {@link SkillAssignmentReport} number of skills assigned, removed and created,
+   *         along with the employees and skills not found, with http status code 200
+   * @throws IllegalArgumentException if the name of a skill is missing
+   * @throws EmployeeException        if the skills are unable to assign
+   */
+  @PostMapping("/skills")
+  public ResponseEntity<SkillAssignmentReport> assignSkills(@RequestBody BulkSkillAssignmentDto assignment) {
+    logger.debug("Assigning skills of employees in bulk");
+    return new ResponseEntity<>(skillAssignmentService.assignSkills(assignment), HttpStatus.OK);
   }
 
   /**
@@ -122,12 +457,16 @@ public class EmployeeController {
    * </p>
    *
    * @param employeeDto EmployeeDto object with email and password.
+   * @param request     HttpServletRequest object to get the client address,
+   *                    resolved from X-Forwarded-For when sent through a trusted proxy.
    * @return {@link EmployeeDto} with email and id of an employee.
-   * @throws EmployeeException if the employee details are invalid
+   * @throws EmployeeException        if the employee details are invalid
+   * @throws TooManyRequestsException if too many attempts are made for the email or from the client
    */
   @PostMapping("/register")
-  public ResponseEntity<EmployeeDto> registerUser(@RequestBody EmployeeDto employeeDto) {
+  public ResponseEntity<EmployeeDto> registerUser(@RequestBody EmployeeDto employeeDto, HttpServletRequest request) {
     logger.debug("Registering employee {}", employeeDto.getEmail());
+    loginRateLimiter.acquire(employeeDto.getEmail(), request.getRemoteAddr());
     return new ResponseEntity<>(employeeService.createEmployee(employeeDto), HttpStatus.CREATED);
   }
 
@@ -137,13 +476,33 @@ public class EmployeeController {
    * </p>
    *
    * @param employeeDto EmployeeDto object with email and password.
+   * @param request     HttpServletRequest object to get the client address,
+   *                    resolved from X-Forwarded-For when sent through a trusted proxy.
    * @return {@link EmployeeDto} with their all details and a token in header.
-   * @throws EmployeeException if the employee details are invalid
+   * @throws EmployeeException        if the employee details are invalid
+   * @throws TooManyRequestsException if too many attempts are made for the email or from the client
    */
   @PostMapping("/login")
-  public ResponseEntity<HttpStatus> loginUser(@RequestBody EmployeeDto employeeDto) {
+  public ResponseEntity<HttpStatus> loginUser(@RequestBody EmployeeDto employeeDto, HttpServletRequest request) {
     logger.debug("Logging in employee {}", employeeDto.getEmail());
+    loginRateLimiter.acquire(employeeDto.getEmail(), request.getRemoteAddr());
     String token = employeeService.createSession(employeeDto);
     return ResponseEntity.ok().header(HttpHeaders.AUTHORIZATION, token).build();
   }
+
+  /**
+   * <p>
+   * Logout an employee by revoking the token they are logged in with.
+   * </p>
+   *
+   * @param authorization Authorization header with the bearer token of the session.
+   * @return {@link HttpStatus} http status code 204 if logged out successfully
+   * @throws UnAuthorizedException if the Authorization header has no bearer token
+   */
+  @PostMapping("/logout")
+  public ResponseEntity<HttpStatus> logoutUser(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+    logger.debug("Logging out employee");
+    employeeService.deleteSession(JwtTokenUtil.getBearerToken(authorization));
+    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+  }
 }
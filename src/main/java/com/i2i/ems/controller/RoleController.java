@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.i2i.ems.dto.RoleDto;
 import com.i2i.ems.service.RoleService;
@@ -33,12 +34,21 @@ public class RoleController {
    * Retrieves the role of the employee
    * </p>
    *
+   * <p>
+   * A request whose If-None-Match holds the current tag of the role is answered with 304.
+   * </p>
+   *
    * @param employeeId employee id whose role details are to be retrieved
+   * @param request    web request holding the tags already known to the client
    * @return {@link RoleDto} role details of the employee with http status code 200
    */
   @GetMapping
-  public ResponseEntity<RoleDto> getAccount(@PathVariable int employeeId) {
-    return new ResponseEntity<>(roleService.getEmployeeRole(employeeId), HttpStatus.OK);
+  public ResponseEntity<RoleDto> getAccount(@PathVariable int employeeId, WebRequest request) {
+    String tag = roleService.getEmployeeRoleTag(employeeId);
+    if (null != tag && request.checkNotModified(tag)) {
+      return null;
+    }
+    return ResponseEntity.ok().eTag(tag).body(roleService.getEmployeeRole(employeeId));
   }
 
   /**
@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,10 +14,13 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.i2i.ems.dto.SkillDto;
 import com.i2i.ems.model.Skill;
+import com.i2i.ems.service.SkillCatalogService;
 import com.i2i.ems.service.SkillService;
+import com.i2i.ems.util.SkillCatalog;
 
 /**
  * <p>
@@ -30,16 +34,28 @@ public class SkillController {
   @Autowired
   private SkillService skillService;
 
+  @Autowired
+  private SkillCatalogService skillCatalogService;
+
   /**
    * <p>
-   * Retrieves all the skills.
+   * Retrieves all the active skills from the skill catalog, without reading or serializing them.
+   * A request whose If-None-Match holds the current tag of the catalog is answered with 304.
    * </p>
    *
-   * @return {@link List<SkillDto>} list of skills with http status code 200.
+   * @param request web request holding the tags already known to the client.
+   * @return JSON array of the skills with http status code 200.
    */
   @GetMapping("/all")
-  public ResponseEntity<List<SkillDto>> getAllSkills() {
-    return new ResponseEntity<>(skillService.getAllSkills(), HttpStatus.OK);
+  public ResponseEntity<byte[]> getAllSkills(WebRequest request) {
+    SkillCatalog.Snapshot catalog = skillCatalogService.getCatalog();
+    if (request.checkNotModified(catalog.tag())) {
+      return null;
+    }
+    return ResponseEntity.ok()
+        .eTag(catalog.tag())
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(catalog.json());
   }
 
   /**
@@ -60,12 +76,21 @@ public class SkillController {
    * Retrieves the skills by employee id.
    * </p>
    *
+   * <p>
+   * A request whose If-None-Match holds the current tag of the skills is answered with 304.
+   * </p>
+   *
    * @param employeeId employee id to be retrieved.
+   * @param request    web request holding the tags already known to the client.
    * @return {@link List<SkillDto>} list of skills with http status code 200.
    */
   @GetMapping
-  public ResponseEntity<List<SkillDto>> getSkillsByEmployeeId(@PathVariable int employeeId) {
-    return new ResponseEntity<>(skillService.getEmployeeSkills(employeeId), HttpStatus.OK);
+  public ResponseEntity<List<SkillDto>> getSkillsByEmployeeId(@PathVariable int employeeId, WebRequest request) {
+    String tag = skillService.getEmployeeSkillsTag(employeeId);
+    if (null != tag && request.checkNotModified(tag)) {
+      return null;
+    }
+    return ResponseEntity.ok().eTag(tag).body(skillService.getEmployeeSkills(employeeId));
   }
 
   /**
@@ -0,0 +1,25 @@
+package com.i2i.ems.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * <p>
+ * Skills to be assigned to and removed from many employees at once.
+ * Skills assigned by a name that does not exist yet are created, with the details
+ * given for the same name among the skills, if any.
+ * </p>
+ */
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSkillAssignmentDto {
+  private List<SkillDto> skills;
+  private List<SkillAssignmentDto> assign;
+  private List<SkillAssignmentDto> remove;
+}
@@ -0,0 +1,23 @@
+package com.i2i.ems.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * <p>
+ * Page of a keyset paginated list.
+ * The next cursor is null when there are no more items.
+ * </p>
+ */
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+  private List<T> content;
+  private String next;
+}
@@ -0,0 +1,25 @@
+package com.i2i.ems.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * <p>
+ * Employees retrieved by their ids, in the order the ids were requested, either with all their
+ * details or with the picked fields only. Ids of employees that are not found and of employees the logged-in user
+ * is not authorized to view are reported apart, also in the requested order.
+ * </p>
+ */
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBatch<T> {
+  private List<T> employees;
+  private List<Integer> missing;
+  private List<Integer> forbidden;
+}
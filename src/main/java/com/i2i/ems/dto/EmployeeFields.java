@@ -0,0 +1,152 @@
+package com.i2i.ems.dto;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * Fields of the employee details picked by the client, such as {@code name,email,role.designation}.
+ * Fields of the account, role and skills are given after the name of the association and a dot,
+ * the name of the association alone picks all its fields.
+ * </p>
+ * <p>
+ * Only the fields shown in the employee details can be picked, in the order they are shown in.
+ * Only the picked fields are read from the database, and an association is only joined
+ * when any of its fields is picked.
+ * </p>
+ */
+public final class EmployeeFields {
+
+  /**
+   * <p>
+   * Fields of the employee and of each association that can be picked, in the order they are shown in.
+   * The associations are shown between the age and the UUID of the employee.
+   * </p>
+   */
+  public static final List<String> EMPLOYEE = List.of("id", "name", "email", "mobileNo", "age", "uuid");
+  public static final Map<String, List<String>> ASSOCIATIONS = Map.of(
+      "account", List.of("id", "accountNumber"),
+      "role", List.of("id", "designation"),
+      "skills", List.of("id", "name"));
+
+  private final Set<String> picked;
+  private final List<String> employee;
+  private final List<String> account;
+  private final List<String> role;
+  private final List<String> skills;
+
+  private EmployeeFields(Set<String> picked) {
+    this.picked = picked;
+    employee = pick(picked, "", EMPLOYEE);
+    account = pick(picked, "account.", ASSOCIATIONS.get("account"));
+    role = pick(picked, "role.", ASSOCIATIONS.get("role"));
+    skills = pick(picked, "skills.", ASSOCIATIONS.get("skills"));
+  }
+
+  /**
+   * <p>
+   * Resolves the fields picked by the client.
+   * </p>
+   *
+   * @param fields       comma separated names of the fields
+   * @param associations names of the associations the fields can be picked from
+   * @return {@link EmployeeFields} the picked fields
+   * @throws IllegalArgumentException if no fields are given or a field cannot be picked
+   */
+  public static EmployeeFields of(String fields, Set<String> associations) {
+    Set<String> picked = new HashSet<>();
+    for (String field : fields.split(",")) {
+      field = field.trim();
+      if (field.isEmpty()) {
+        continue;
+      }
+      int dot = field.indexOf('.');
+      String association = -1 == dot ? field : field.substring(0, dot);
+      if (associations.contains(association)) {
+        List<String> associationFields = ASSOCIATIONS.get(association);
+        if (-1 == dot) {
+          associationFields.forEach(name -> picked.add(association + "." + name));
+          continue;
+        }
+        if (associationFields.contains(field.substring(dot + 1))) {
+          picked.add(field);
+          continue;
+        }
+      } else if (EMPLOYEE.contains(field)) {
+        picked.add(field);
+        continue;
+      }
+      throw new IllegalArgumentException("Unknown field " + field);
+    }
+    if (picked.isEmpty()) {
+      throw new IllegalArgumentException("Fields are required");
+    }
+    return new EmployeeFields(picked);
+  }
+
+  /**
+   * <p>
+   * Picks one more field of the employee.
+   * </p>
+   *
+   * @param field name of the field
+   * @return {@link EmployeeFields} the picked fields along with the given one
+   */
+  public EmployeeFields with(String field) {
+    Set<String> withField = new HashSet<>(picked);
+    withField.add(field);
+    return new EmployeeFields(withField);
+  }
+
+  /**
+   * <p>
+   * Tells whether the field is picked.
+   * </p>
+   *
+   * @param field name of the field, after the name of its association and a dot if any
+   * @return boolean true if the field is picked
+   */
+  public boolean contains(String field) {
+    return picked.contains(field);
+  }
+
+  public List<String> getEmployee() {
+    return employee;
+  }
+
+  public List<String> getAccount() {
+    return account;
+  }
+
+  public List<String> getRole() {
+    return role;
+  }
+
+  public List<String> getSkills() {
+    return skills;
+  }
+
+  /**
+   * <p>
+   * Names of all the picked fields in the order they are shown in, used to tell the picks apart.
+   * </p>
+   *
+   * @return String comma separated names of the fields
+   */
+  public String getKey() {
+    List<String> names = new ArrayList<>(employee);
+    account.forEach(name -> names.add("account." + name));
+    role.forEach(name -> names.add("role." + name));
+    skills.forEach(name -> names.add("skills." + name));
+    return String.join(",", names);
+  }
+
+  private static List<String> pick(Set<String> picked, String prefix, List<String> names) {
+    return names.stream()
+        .filter(name -> picked.contains(prefix + name))
+        .toList();
+  }
+}
@@ -0,0 +1,67 @@
+package com.i2i.ems.dto;
+
+import java.util.Locale;
+
+/**
+ * <p>
+ * Formats in which employees are exported and imported.
+ * </p>
+ */
+public enum FileFormat {
+  NDJSON("application/x-ndjson", "ndjson"),
+  CSV("text/csv", "csv");
+
+  private final String contentType;
+  private final String extension;
+
+  FileFormat(String contentType, String extension) {
+    this.contentType = contentType;
+    this.extension = extension;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  public String getExtension() {
+    return extension;
+  }
+
+  /**
+   * <p>
+   * Resolves the export format from its name, ignoring case.
+   * </p>
+   *
+   * @param name name of the format
+   * @return {@link FileFormat} the format with the given name
+   * @throws IllegalArgumentException if no format has the given name
+   */
+  public static FileFormat of(String name) {
+    try {
+      return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unsupported file format " + name);
+    }
+  }
+
+  /**
+   * <p>
+   * Resolves the file format from its content type, ignoring parameters such as the charset.
+   * </p>
+   *
+   * @param contentType content type of the file
+   * @return {@link FileFormat} the format with the given content type
+   * @throws IllegalArgumentException if no format has the given content type
+   */
+  public static FileFormat ofContentType(String contentType) {
+    if (null != contentType) {
+      String mimeType = contentType.split(";")[0].trim();
+      for (FileFormat format : values()) {
+        if (format.contentType.equalsIgnoreCase(mimeType)) {
+          return format;
+        }
+      }
+    }
+    throw new IllegalArgumentException("Unsupported content type " + contentType);
+  }
+}
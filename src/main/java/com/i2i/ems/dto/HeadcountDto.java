@@ -0,0 +1,26 @@
+package com.i2i.ems.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * <p>
+ * Headcount of the active employees, in total and broken down by each dimension.
+ * </p>
+ */
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeadcountDto {
+  private long headcount;
+  private Map<String, Long> byDepartment;
+  private Map<String, Long> byDesignation;
+  private Map<String, Long> byLevel;
+  private Map<String, Long> bySkillCategory;
+  private Map<String, Long> byAgeBand;
+}
@@ -0,0 +1,21 @@
+package com.i2i.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * <p>
+ * Reason a row of an import was not imported.
+ * </p>
+ */
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportError {
+  private long line;
+  private String email;
+  private String message;
+}
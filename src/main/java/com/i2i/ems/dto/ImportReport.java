@@ -0,0 +1,23 @@
+package com.i2i.ems.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * <p>
+ * Outcome of an import, with the rows that were not imported.
+ * </p>
+ */
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReport {
+  private int imported;
+  private int failed;
+  private List<ImportError> errors;
+}
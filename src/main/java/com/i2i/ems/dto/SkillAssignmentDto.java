@@ -0,0 +1,20 @@
+package com.i2i.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * <p>
+ * A skill of an employee in a bulk assignment, as the id of the employee and the name of the skill.
+ * </p>
+ */
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillAssignmentDto {
+  private int employeeId;
+  private String skill;
+}
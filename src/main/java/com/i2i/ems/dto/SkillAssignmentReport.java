@@ -0,0 +1,28 @@
+package com.i2i.ems.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * <p>
+ * Outcome of a bulk skill assignment.
+ * Pairs that were already assigned or already removed are not counted.
+ * Ids of employees that are not found and names of skills to be removed that do not exist
+ * are reported, in id and name order, and their pairs are skipped.
+ * </p>
+ */
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillAssignmentReport {
+  private int assigned;
+  private int removed;
+  private int createdSkills;
+  private List<Integer> missingEmployees;
+  private List<String> missingSkills;
+}
@@ -1,6 +1,8 @@
 package com.i2i.ems.helper;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -55,8 +57,27 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(e.getMessage(), HttpStatus.FORBIDDEN);
   }
 
+  @ExceptionHandler(value = {ServerBusyException.class})
+  public ResponseEntity<String> handleServerBusyException(ServerBusyException e) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+        .body(e.getMessage());
+  }
+
+  @ExceptionHandler(value = {TooManyRequestsException.class})
+  public ResponseEntity<String> handleTooManyRequestsException(TooManyRequestsException e) {
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+        .body(e.getMessage());
+  }
+
   @ExceptionHandler(value = {EmployeeException.class})
-  public ResponseEntity<String> handleException(EmployeeException e) {
+  public ResponseEntity<String> handleException(EmployeeException e, HttpServletResponse response) {
+    if (response.isCommitted()) {
+      // Part of a streamed body has gone out with a 200 already. Rethrowing the exception leaves it
+      // to the container, which aborts the connection so the client sees the body as incomplete.
+      throw e;
+    }
     return new ResponseEntity<>("Error occurred with the server\n" + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
   }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.i2i.ems.helper;
+
+import lombok.Getter;
+
+/**
+ * <p>
+ *   Exception class that handles requests rejected because the server is overloaded.
+ *   Carries the number of seconds after which the client may retry.
+ * </p>
+ */
+@Getter
+public class ServerBusyException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public ServerBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
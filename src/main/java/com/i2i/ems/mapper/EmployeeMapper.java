@@ -1,39 +1,44 @@
 package com.i2i.ems.mapper;
 
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import com.i2i.ems.dto.AccountDto;
 import com.i2i.ems.dto.EmployeeDto;
 import com.i2i.ems.dto.RoleDto;
+import com.i2i.ems.dto.SkillDto;
 import com.i2i.ems.model.Account;
 import com.i2i.ems.model.Employee;
+import com.i2i.ems.model.EmployeeSummary;
 import com.i2i.ems.model.Role;
+import com.i2i.ems.model.Skill;
 import com.i2i.ems.model.Type;
 import com.i2i.ems.util.DateUtil;
 
 /**
  * <p>
  * Mapper class that maps the employee details into required format.
+ * Ages are computed against the cached current day of {@link DateUtil}.
  * </p>
  */
 public class EmployeeMapper {
 
   /**
    * <p>
-   * Maps the employee model to employee DTO.
+   * Maps the employee summary to employee DTO.
    * </p>
    *
-   * @param employee all details of an employee
+   * @param employee summary of an employee
    * @return {@link EmployeeDto} id, name, email, mobile number and age of the employee
    */
-  public static EmployeeDto modelsToDtos(Employee employee) {
+  public static EmployeeDto summaryToDto(EmployeeSummary employee) {
     return EmployeeDto.builder()
         .UUID(employee.getUUID())
         .name(employee.getName())
         .email(employee.getEmail())
         .mobileNo(employee.getMobileNo())
-        .age(DateUtil.getYearsBetween(employee.getDob(), new Date()))
+        .age(DateUtil.getAge(employee.getDob()))
         .build();
   }
 
@@ -51,7 +56,7 @@ public class EmployeeMapper {
         .name(employee.getName())
         .email(employee.getEmail())
         .mobileNo(employee.getMobileNo())
-        .age(DateUtil.getYearsBetween(employee.getDob(), new Date()))
+        .age(DateUtil.getAge(employee.getDob()))
         .role(null != employee.getRole() ? RoleDto.builder()
             .id(employee.getRole().getId())
             .designation(employee.getRole().getDesignation())
@@ -60,12 +65,18 @@ public class EmployeeMapper {
             .id(employee.getAccount().getId())
             .accountNumber(employee.getAccount().getAccountNumber())
             .build() : null)
-        .skills(null != employee.getSkills() ? employee.getSkills().stream().
-            map(SkillMapper::modelToDto)
-            .collect(Collectors.toList()) : null)
+        .skills(null != employee.getSkills() ? skillsToDtos(employee.getSkills()) : null)
         .build();
   }
 
+  private static List<SkillDto> skillsToDtos(List<Skill> skills) {
+    List<SkillDto> skillDtos = new ArrayList<>(skills.size());
+    for (Skill skill : skills) {
+      skillDtos.add(SkillMapper.modelToDto(skill));
+    }
+    return skillDtos;
+  }
+
   /**
    * <p>
    * Maps the employee DTO to employee model.
@@ -2,6 +2,7 @@ package com.i2i.ems.mapper;
 
 import com.i2i.ems.dto.SkillDto;
 import com.i2i.ems.model.Skill;
+import com.i2i.ems.model.SkillCatalogRow;
 
 /**
  * <p>
@@ -42,4 +43,19 @@ public class SkillMapper {
         .name(skill.getName())
         .build();
   }
+
+  /**
+   * <p>
+   * Maps the skill catalog row to skill DTO.
+   * </p>
+   *
+   * @param row skill of the skill catalog
+   * @return {@link SkillDto} id and name of the skill
+   */
+  public static SkillDto catalogRowToDto(SkillCatalogRow row) {
+    return SkillDto.builder()
+        .id(row.getId())
+        .name(row.getName())
+        .build();
+  }
 }
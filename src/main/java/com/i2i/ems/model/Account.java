@@ -1,10 +1,12 @@
 package com.i2i.ems.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -31,4 +33,8 @@ public class Account {
   private String accountNumber;
   private String ifscCode;
   private Boolean isDeleted;
+
+  @Version
+  @Column(nullable = false, columnDefinition = "int default 0")
+  private int version;
 }
\ No newline at end of file
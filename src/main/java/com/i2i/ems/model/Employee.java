@@ -19,6 +19,10 @@ import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.validator.constraints.UniqueElements;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -35,6 +39,12 @@ import lombok.ToString;
  * <p>
  * Model class that maps the employee details.
  * Contains all associated fields of an employee.
+ * Associations are loaded lazily, callers that need them use the entity graph
+ * finders of the repository to load them with the employee.
+ * The skills of an employee are kept in the second-level cache, each skill at most once.
+ * The version is incremented by every change to the employee, including changes to their skills,
+ * and tags the employee resources. Updates replace the saved details whatever version they were
+ * read at, the last writer wins.
  * </p>
  */
 @Builder
@@ -62,18 +72,27 @@ public class Employee implements UserDetails {
   private Type userType;
   private String password;
 
-  @OneToOne(fetch = FetchType.EAGER, cascade = {CascadeType.ALL})
+  @Version
+  @Column(nullable = false, columnDefinition = "int default 0")
+  private int version;
+
+  @ToString.Exclude
+  @OneToOne(fetch = FetchType.LAZY, cascade = {CascadeType.ALL})
   @JoinColumn(name = "account_id")
   private Account account;
 
-  @ManyToOne(fetch = FetchType.EAGER, cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.DETACH, CascadeType.REFRESH})
+  @ToString.Exclude
+  @ManyToOne(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.DETACH, CascadeType.REFRESH})
   @JoinColumn(name = "role_id")
   private Role role;
 
-  @ManyToMany(fetch = FetchType.EAGER, cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.DETACH, CascadeType.REFRESH})
+  @ToString.Exclude
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employee-skills")
+  @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.DETACH, CascadeType.REFRESH})
   @JoinTable(name = "employee_skill",
       joinColumns = @JoinColumn(name = "employee_id"),
-      inverseJoinColumns = @JoinColumn(name = "skill_id"))
+      inverseJoinColumns = @JoinColumn(name = "skill_id"),
+      uniqueConstraints = @UniqueConstraint(columnNames = {"employee_id", "skill_id"}))
   private List<Skill> skills;
 
   @Override
@@ -0,0 +1,45 @@
+package com.i2i.ems.model;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * <p>
+ * Lightweight identity of an authenticated employee.
+ * Holds only the fields needed for authentication and authorization,
+ * without the account, role and skills of the employee.
+ * </p>
+ */
+@Builder
+@Getter
+@AllArgsConstructor
+public class EmployeePrincipal implements UserDetails {
+  private int id;
+  private String email;
+  private String password;
+  private Type userType;
+  private Boolean isDeleted;
+
+  @Override
+  public Collection<? extends GrantedAuthority> getAuthorities() {
+    return List.of(new SimpleGrantedAuthority(userType.name()));
+  }
+
+  @Override
+  public String getUsername() {
+    return this.email;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return !Boolean.TRUE.equals(isDeleted);
+  }
+}
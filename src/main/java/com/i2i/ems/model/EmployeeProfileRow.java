@@ -0,0 +1,25 @@
+package com.i2i.ems.model;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * <p>
+ * Fields of an employee counted in the headcount, one row per skill of the employee.
+ * The role and skill category are null when the employee has none that is active.
+ * </p>
+ */
+@Builder
+@Getter
+@AllArgsConstructor
+public class EmployeeProfileRow {
+  private int id;
+  private Date dob;
+  private String department;
+  private String designation;
+  private String level;
+  private String skillCategory;
+}
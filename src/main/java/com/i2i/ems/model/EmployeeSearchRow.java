@@ -0,0 +1,23 @@
+package com.i2i.ems.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * <p>
+ * Searchable fields of an employee, one row per skill of the employee.
+ * The role and skill are null when the employee has none that is active.
+ * </p>
+ */
+@Builder
+@Getter
+@AllArgsConstructor
+public class EmployeeSearchRow {
+  private int id;
+  private String name;
+  private String email;
+  private String designation;
+  private String department;
+  private String skill;
+}
@@ -0,0 +1,26 @@
+package com.i2i.ems.model;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * <p>
+ * Summary of an employee shown in the employee list.
+ * Holds only the columns the list displays, so it is loaded
+ * without the account, role, skills and password of the employee.
+ * </p>
+ */
+@Builder
+@Getter
+@AllArgsConstructor
+public class EmployeeSummary {
+  private int id;
+  private String UUID;
+  private String name;
+  private String email;
+  private long mobileNo;
+  private Date dob;
+}
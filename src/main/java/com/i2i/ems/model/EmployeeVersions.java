@@ -0,0 +1,76 @@
+package com.i2i.ems.model;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * <p>
+ * Versions of an employee and of the account, role and skills shown with them,
+ * read without loading any of them. Every change to any of them changes the versions,
+ * so they are used as the entity tags of the employee resources.
+ * The skills are summed up by the sum of their versions, as adding or removing
+ * a skill changes the version of the employee.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeVersions {
+  private int id;
+  private String email;
+  private int version;
+  private Integer accountId;
+  private Integer accountVersion;
+  private Integer roleId;
+  private Integer roleVersion;
+  private Long skillsVersion;
+
+  /**
+   * <p>
+   * Entity tag of the employee along with their account, role and skills.
+   * The age shown with the employee is computed against the current date,
+   * so the date is part of the tag and it changes every day.
+   * </p>
+   *
+   * @param today date the age of the employee is computed against
+   * @return String entity tag of the employee
+   */
+  public String employeeTag(LocalDate today) {
+    return "employee-" + id + "-" + version + "-" + accountTag() + "-" + roleTag() + "-" + skillsVersion
+        + "-" + today;
+  }
+
+  /**
+   * <p>
+   * Entity tag of the account of the employee.
+   * </p>
+   *
+   * @return String entity tag of the account
+   */
+  public String accountTag() {
+    return "account-" + accountId + "-" + accountVersion;
+  }
+
+  /**
+   * <p>
+   * Entity tag of the role of the employee.
+   * </p>
+   *
+   * @return String entity tag of the role
+   */
+  public String roleTag() {
+    return "role-" + roleId + "-" + roleVersion;
+  }
+
+  /**
+   * <p>
+   * Entity tag of the skills of the employee.
+   * </p>
+   *
+   * @return String entity tag of the skills
+   */
+  public String skillsTag() {
+    return "skills-" + id + "-" + version + "-" + skillsVersion;
+  }
+}
@@ -1,10 +1,16 @@
 package com.i2i.ems.model;
 
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -14,6 +20,7 @@ import lombok.Setter;
 /**
  * <p>
  * Model class that maps the role details.
+ * Roles are read-mostly reference data, kept in the second-level cache.
  * </p>
  */
 @Entity
@@ -23,6 +30,8 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "role")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "role")
 public class Role {
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,4 +40,8 @@ public class Role {
   private String level;
   private String department;
   private Boolean isDeleted;
+
+  @Version
+  @Column(nullable = false, columnDefinition = "int default 0")
+  private int version;
 }
@@ -1,10 +1,16 @@
 package com.i2i.ems.model;
 
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -14,6 +20,7 @@ import lombok.Setter;
 /**
  * <p>
  * Model class that maps the skill details.
+ * Skills are read-mostly reference data, kept in the second-level cache.
  * </p>
  */
 @Builder
@@ -23,6 +30,8 @@ import lombok.Setter;
 @AllArgsConstructor
 @Entity
 @Table(name = "skill")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "skill")
 public class Skill {
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,4 +40,8 @@ public class Skill {
   private String category;
   private String institute;
   private Boolean isDeleted;
+
+  @Version
+  @Column(nullable = false, columnDefinition = "int default 0")
+  private int version;
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.i2i.ems.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * <p>
+ * A skill of an employee, as the ids of both.
+ * </p>
+ */
+@Builder
+@Getter
+@AllArgsConstructor
+public class SkillAssignment {
+  private int skillId;
+  private int employeeId;
+}
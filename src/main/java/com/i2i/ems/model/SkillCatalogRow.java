@@ -0,0 +1,19 @@
+package com.i2i.ems.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * <p>
+ * A skill of the skill catalog along with its version, read without loading the skill.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class SkillCatalogRow {
+  private int id;
+  private String name;
+  private String category;
+  private String institute;
+  private int version;
+}
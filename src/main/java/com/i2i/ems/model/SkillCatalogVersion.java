@@ -0,0 +1,19 @@
+package com.i2i.ems.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * <p>
+ * Summary of the active skills, read without loading any of them. Creating, changing or
+ * deleting a skill changes the summary, so it tells whether the skill catalog is out of date.
+ * The skills are summed up by the number of them and the sums of their ids and versions.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class SkillCatalogVersion {
+  private long count;
+  private long idSum;
+  private long versionSum;
+}
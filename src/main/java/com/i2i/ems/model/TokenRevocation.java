@@ -0,0 +1,47 @@
+package com.i2i.ems.model;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * <p>
+ * Model class that maps a revocation of a token, by its id on logout or by its subject
+ * when the employee is deleted, so that every instance applies it.
+ * A revocation is kept until the tokens it revokes have expired.
+ * </p>
+ */
+@Builder
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "token_revocation", indexes = @Index(name = "idx_token_revocation_revoked_at", columnList = "revoked_at"))
+public class TokenRevocation {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private long id;
+
+  @Column(name = "token_id")
+  private String tokenId;
+  private String subject;
+
+  @Column(name = "revoked_at", nullable = false)
+  private Date revokedAt;
+
+  @Column(name = "expires_at", nullable = false)
+  private Date expiresAt;
+}
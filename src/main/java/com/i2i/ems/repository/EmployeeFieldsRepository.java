@@ -0,0 +1,41 @@
+package com.i2i.ems.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Pageable;
+
+import com.i2i.ems.dto.EmployeeFields;
+
+/**
+ * <p>
+ * Reads only the picked fields of the employees, joining only the associations
+ * whose fields are picked.
+ * </p>
+ */
+public interface EmployeeFieldsRepository {
+
+  /**
+   * <p>
+   * Retrieves the picked fields of the active employees with the given ids, in id order.
+   * </p>
+   *
+   * @param ids    Ids of the employees.
+   * @param fields Fields to be read.
+   * @return {@link List<Map>} Picked fields of each employee, the account and role as nested maps
+   *         and the skills as a list of maps.
+   */
+  List<Map<String, Object>> findFieldsByIdIn(Collection<Integer> ids, EmployeeFields fields);
+
+  /**
+   * <p>
+   * Retrieves the picked fields of a page of the active employees, in id order.
+   * </p>
+   *
+   * @param pageable Page to be read.
+   * @param fields   Fields to be read.
+   * @return {@link List<Map>} Picked fields of each employee of the page.
+   */
+  List<Map<String, Object>> findFieldsByIsDeletedFalse(Pageable pageable, EmployeeFields fields);
+}
@@ -0,0 +1,162 @@
+package com.i2i.ems.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+
+import com.i2i.ems.dto.EmployeeFields;
+import com.i2i.ems.model.Employee;
+import com.i2i.ems.util.DateUtil;
+
+/**
+ * <p>
+ * Reads the picked fields of the employees with criteria tuple queries.
+ * The employee, account and role fields are read with one query, joining the account and role
+ * only when their fields are picked, and the skills with a second query for all the employees read.
+ * </p>
+ */
+public class EmployeeFieldsRepositoryImpl implements EmployeeFieldsRepository {
+
+  private static final Map<String, String> ATTRIBUTES = Map.of("uuid", "UUID", "age", "dob");
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<Map<String, Object>> findFieldsByIdIn(Collection<Integer> ids, EmployeeFields fields) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    return findFields(fields, employee -> employee.get("id").in(ids), null);
+  }
+
+  @Override
+  public List<Map<String, Object>> findFieldsByIsDeletedFalse(Pageable pageable, EmployeeFields fields) {
+    return findFields(fields, employee -> entityManager.getCriteriaBuilder().conjunction(), pageable);
+  }
+
+  private List<Map<String, Object>> findFields(EmployeeFields fields, Function<Root<Employee>, Predicate> restriction,
+                                               Pageable pageable) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = builder.createTupleQuery();
+    Root<Employee> employee = query.from(Employee.class);
+    List<Selection<?>> selections = new ArrayList<>();
+    select(selections, employee, "", fields.getEmployee());
+    if (!fields.getAccount().isEmpty()) {
+      select(selections, employee.join("account", JoinType.LEFT), "account_", fields.getAccount());
+    }
+    if (!fields.getRole().isEmpty()) {
+      select(selections, employee.join("role", JoinType.LEFT), "role_", fields.getRole());
+    }
+    query.multiselect(selections)
+        .where(builder.isFalse(employee.get("isDeleted")), restriction.apply(employee))
+        .orderBy(builder.asc(employee.get("id")));
+    TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+    if (null != pageable) {
+      typedQuery.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+    }
+    List<Tuple> tuples = typedQuery.getResultList();
+    Map<Integer, List<Map<String, Object>>> skills = fields.getSkills().isEmpty() ? Map.of()
+        : findSkills(tuples.stream().map(tuple -> tuple.get("id", Integer.class)).toList(), fields);
+    List<Map<String, Object>> employees = new ArrayList<>(tuples.size());
+    for (Tuple tuple : tuples) {
+      Map<String, Object> values = new LinkedHashMap<>();
+      for (String field : fields.getEmployee()) {
+        if (!"uuid".equals(field)) {
+          values.put(field, value(tuple, "", field));
+        }
+      }
+      if (!fields.getAccount().isEmpty()) {
+        values.put("account", association(tuple, "account_", fields.getAccount()));
+      }
+      if (!fields.getRole().isEmpty()) {
+        values.put("role", association(tuple, "role_", fields.getRole()));
+      }
+      if (!fields.getSkills().isEmpty()) {
+        values.put("skills", skills.getOrDefault(tuple.get("id", Integer.class), List.of()));
+      }
+      if (fields.contains("uuid")) {
+        values.put("uuid", value(tuple, "", "uuid"));
+      }
+      employees.add(values);
+    }
+    return employees;
+  }
+
+  /**
+   * <p>
+   * Reads the picked fields of the skills of the employees, by employee id.
+   * </p>
+   */
+  private Map<Integer, List<Map<String, Object>>> findSkills(List<Integer> employeeIds, EmployeeFields fields) {
+    if (employeeIds.isEmpty()) {
+      return Map.of();
+    }
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = builder.createTupleQuery();
+    Root<Employee> employee = query.from(Employee.class);
+    From<?, ?> skill = employee.join("skills");
+    List<Selection<?>> selections = new ArrayList<>();
+    selections.add(employee.get("id").alias("employee_id"));
+    select(selections, skill, "", fields.getSkills());
+    query.multiselect(selections)
+        .where(employee.get("id").in(employeeIds))
+        .orderBy(builder.asc(employee.get("id")), builder.asc(skill.get("id")));
+    Map<Integer, List<Map<String, Object>>> skills = new HashMap<>();
+    for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+      skills.computeIfAbsent(tuple.get("employee_id", Integer.class), id -> new ArrayList<>())
+          .add(association(tuple, "", fields.getSkills()));
+    }
+    return skills;
+  }
+
+  /**
+   * <p>
+   * Selects the id and the other picked fields of the employee or of an association.
+   * The id is always selected, as it is needed to put the rows together and to tell
+   * whether the employee has the left joined association. A path can only be selected once.
+   * </p>
+   */
+  private static void select(List<Selection<?>> selections, From<?, ?> from, String prefix, List<String> fields) {
+    selections.add(from.get("id").alias(prefix + "id"));
+    for (String field : fields) {
+      if (!"id".equals(field)) {
+        selections.add(from.get(ATTRIBUTES.getOrDefault(field, field)).alias(prefix + field));
+      }
+    }
+  }
+
+  private static Map<String, Object> association(Tuple tuple, String prefix, List<String> fields) {
+    if (null == tuple.get(prefix + "id")) {
+      return null;
+    }
+    Map<String, Object> values = new LinkedHashMap<>();
+    for (String field : fields) {
+      values.put(field, value(tuple, prefix, field));
+    }
+    return values;
+  }
+
+  private static Object value(Tuple tuple, String prefix, String field) {
+    Object value = tuple.get(prefix + field);
+    return "age".equals(field) ? DateUtil.getAge((Date) value) : value;
+  }
+}
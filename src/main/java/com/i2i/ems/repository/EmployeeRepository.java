@@ -1,15 +1,31 @@
 package com.i2i.ems.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.QueryHint;
 import jakarta.validation.constraints.Email;
+import org.hibernate.jpa.HibernateHints;
 
 import com.i2i.ems.model.Employee;
+import com.i2i.ems.model.EmployeePrincipal;
+import com.i2i.ems.model.EmployeeProfileRow;
+import com.i2i.ems.model.EmployeeSearchRow;
+import com.i2i.ems.model.EmployeeSummary;
+import com.i2i.ems.model.EmployeeVersions;
+import com.i2i.ems.model.SkillAssignment;
 
 /**
  * <p>
@@ -17,17 +33,74 @@ import com.i2i.ems.model.Employee;
  * </p>
  */
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
+public interface EmployeeRepository extends JpaRepository<Employee, Integer>, EmployeeFieldsRepository {
+
+  String SEARCH_ROW_QUERY = "SELECT new com.i2i.ems.model.EmployeeSearchRow("
+      + "e.id, e.name, e.email, r.designation, r.department, s.name) "
+      + "FROM Employee e LEFT JOIN e.role r ON r.isDeleted = false LEFT JOIN e.skills s ON s.isDeleted = false "
+      + "WHERE e.isDeleted = false ";
+
+  String PROFILE_ROW_QUERY = "SELECT new com.i2i.ems.model.EmployeeProfileRow("
+      + "e.id, e.dob, r.department, r.designation, r.level, s.category) "
+      + "FROM Employee e LEFT JOIN e.role r ON r.isDeleted = false LEFT JOIN e.skills s ON s.isDeleted = false "
+      + "WHERE e.isDeleted = false ";
+
+  /**
+   * <p>
+   * Retrieves the summaries of the active employees in the page.
+   * Only the columns shown in the employee list are selected, and no count query is run.
+   * </p>
+   *
+   * @param pageable Pageable object to get the page details.
+   * @return {@link List<EmployeeSummary>} Summaries of the employees in the page.
+   */
+  @Query("SELECT new com.i2i.ems.model.EmployeeSummary(e.id, e.UUID, e.name, e.email, e.mobileNo, e.dob) "
+      + "FROM Employee e WHERE e.isDeleted = false")
+  List<EmployeeSummary> findSummariesByIsDeletedFalse(Pageable pageable);
+
+  /**
+   * <p>
+   * Retrieves the summaries of the active employees whose id is greater than the given id, in id order.
+   * The page seeks on the primary key, so it costs the same however deep into the list it starts.
+   * </p>
+   *
+   * @param after Id after which the page starts.
+   * @param limit Maximum number of employees in the page.
+   * @return {@link List<EmployeeSummary>} Summaries of the employees in the page.
+   */
+  @Query("SELECT new com.i2i.ems.model.EmployeeSummary(e.id, e.UUID, e.name, e.email, e.mobileNo, e.dob) "
+      + "FROM Employee e WHERE e.isDeleted = false AND e.id > :after ORDER BY e.id")
+  List<EmployeeSummary> findSummariesAfter(@Param("after") int after, Limit limit);
+
+  /**
+   * <p>
+   * Streams the summaries of all the active employees, in id order.
+   * Rows are fetched from the database in batches of the fetch size rather than all at once,
+   * and summaries are not managed by the persistence context, so memory stays flat
+   * however many employees are streamed. The stream must be consumed within a transaction and closed.
+   * </p>
+   *
+   * @return {@link Stream<EmployeeSummary>} Summaries of all the active employees.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT new com.i2i.ems.model.EmployeeSummary(e.id, e.UUID, e.name, e.email, e.mobileNo, e.dob) "
+      + "FROM Employee e WHERE e.isDeleted = false ORDER BY e.id")
+  Stream<EmployeeSummary> streamSummariesByIsDeletedFalse();
 
   /**
    * <p>
-   * Retrieves all the employees from the database.
+   * Streams the summaries of the active employees in the page,
+   * so the rows can be written out as they are read.
+   * The stream must be consumed within a transaction and closed.
    * </p>
    *
    * @param pageable Pageable object to get the page details.
-   * @return {@link Page<Employee>} Details of the employees in the page.
+   * @return {@link Stream<EmployeeSummary>} Summaries of the employees in the page.
    */
-  Page<Employee> findAllByIsDeletedFalse(Pageable pageable);
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+  @Query("SELECT new com.i2i.ems.model.EmployeeSummary(e.id, e.UUID, e.name, e.email, e.mobileNo, e.dob) "
+      + "FROM Employee e WHERE e.isDeleted = false")
+  Stream<EmployeeSummary> streamSummariesByIsDeletedFalse(Pageable pageable);
 
   /**
    * <p>
@@ -39,6 +112,62 @@ public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
    */
   Employee findByIdAndIsDeletedFalse(Integer id);
 
+  /**
+   * <p>
+   * Retrieves the employee from the given id along with their account, role and skills.
+   * </p>
+   *
+   * @param id Id of the employee.
+   * @return {@link Employee} Details of the employee with all associations loaded.
+   */
+  @EntityGraph(attributePaths = {"account", "role", "skills"})
+  Employee findDetailsByIdAndIsDeletedFalse(Integer id);
+
+  /**
+   * <p>
+   * Retrieves the active employees with the given ids along with their account, role and skills,
+   * with one query.
+   * </p>
+   *
+   * @param ids Ids of the employees.
+   * @return {@link List<Employee>} Details of the employees found with all associations loaded, in no order.
+   */
+  @EntityGraph(attributePaths = {"account", "role", "skills"})
+  List<Employee> findDetailsByIdInAndIsDeletedFalse(Collection<Integer> ids);
+
+  /**
+   * <p>
+   * Retrieves the employee from the given id along with their account.
+   * </p>
+   *
+   * @param id Id of the employee.
+   * @return {@link Employee} Details of the employee with the account loaded.
+   */
+  @EntityGraph(attributePaths = "account")
+  Employee findWithAccountByIdAndIsDeletedFalse(Integer id);
+
+  /**
+   * <p>
+   * Retrieves the employee from the given id along with their role.
+   * </p>
+   *
+   * @param id Id of the employee.
+   * @return {@link Employee} Details of the employee with the role loaded.
+   */
+  @EntityGraph(attributePaths = "role")
+  Employee findWithRoleByIdAndIsDeletedFalse(Integer id);
+
+  /**
+   * <p>
+   * Retrieves the employee from the given id along with their skills.
+   * </p>
+   *
+   * @param id Id of the employee.
+   * @return {@link Employee} Details of the employee with the skills loaded.
+   */
+  @EntityGraph(attributePaths = "skills")
+  Employee findWithSkillsByIdAndIsDeletedFalse(Integer id);
+
   /**
    * <p>
    * Checks if the employee exists with given mobileNo or email.
@@ -60,6 +189,33 @@ public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
    */
   Employee findByEmail(String email);
 
+  /**
+   * <p>
+   * Retrieves the authentication details of the employees with the given email.
+   * Only the columns needed to authenticate are selected, active employees come first.
+   * </p>
+   *
+   * @param email Email of the employee.
+   * @return {@link List<EmployeePrincipal>} Authentication details of the employees.
+   */
+  @Query("SELECT new com.i2i.ems.model.EmployeePrincipal(e.id, e.email, e.password, e.userType, e.isDeleted) "
+      + "FROM Employee e WHERE e.email = :email ORDER BY e.isDeleted ASC")
+  List<EmployeePrincipal> findPrincipalsByEmail(@Param("email") String email);
+
+  /**
+   * <p>
+   * Replaces the password hash of the employee.
+   * </p>
+   *
+   * @param id Id of the employee.
+   * @param password New password hash of the employee.
+   * @return int Number of employees updated.
+   */
+  @Transactional
+  @Modifying
+  @Query("UPDATE Employee e SET e.password = :password WHERE e.id = :id")
+  int updatePassword(@Param("id") int id, @Param("password") String password);
+
   /**
    * <p>
    * Checks if the employee exists with the given email.
@@ -69,4 +225,179 @@ public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
    * @return boolean True if the employee exists, else false.
    */
   boolean existsByEmailAndIsDeletedFalse(String email);
-}
\ No newline at end of file
+
+  /**
+   * <p>
+   * Retrieves which of the given emails belong to active employees.
+   * </p>
+   *
+   * @param emails Emails to be checked.
+   * @return {@link List<String>} Emails of the active employees among the given emails.
+   */
+  @Query("SELECT e.email FROM Employee e WHERE e.isDeleted = false AND e.email IN :emails")
+  List<String> findActiveEmails(@Param("emails") Collection<String> emails);
+
+  /**
+   * <p>
+   * Retrieves which of the given ids belong to active employees.
+   * </p>
+   *
+   * @param ids Ids to be checked.
+   * @return {@link List<Integer>} Ids of the active employees among the given ids.
+   */
+  @Query("SELECT e.id FROM Employee e WHERE e.isDeleted = false AND e.id IN :ids")
+  List<Integer> findActiveIds(@Param("ids") Collection<Integer> ids);
+
+  /**
+   * <p>
+   * Retrieves the summaries of the active employees with the given ids, in id order.
+   * </p>
+   *
+   * @param ids Ids of the employees.
+   * @return {@link List<EmployeeSummary>} Summaries of the employees found.
+   */
+  @Query("SELECT new com.i2i.ems.model.EmployeeSummary(e.id, e.UUID, e.name, e.email, e.mobileNo, e.dob) "
+      + "FROM Employee e WHERE e.isDeleted = false AND e.id IN :ids ORDER BY e.id")
+  List<EmployeeSummary> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+  /**
+   * <p>
+   * Retrieves the searchable fields of the active employees whose id is within the given range.
+   * </p>
+   *
+   * @param from Lowest id of the range.
+   * @param to Highest id of the range.
+   * @return {@link List<EmployeeSearchRow>} Searchable fields of the employees, one row per skill.
+   */
+  @Query(SEARCH_ROW_QUERY + "AND e.id BETWEEN :from AND :to")
+  List<EmployeeSearchRow> findSearchRowsBetween(@Param("from") int from, @Param("to") int to);
+
+  /**
+   * <p>
+   * Retrieves the searchable fields of the active employees with the given ids.
+   * </p>
+   *
+   * @param ids Ids of the employees.
+   * @return {@link List<EmployeeSearchRow>} Searchable fields of the employees, one row per skill.
+   */
+  @Query(SEARCH_ROW_QUERY + "AND e.id IN :ids")
+  List<EmployeeSearchRow> findSearchRowsByIdIn(@Param("ids") Collection<Integer> ids);
+
+  /**
+   * <p>
+   * Retrieves the searchable fields of the active employees with the given emails.
+   * </p>
+   *
+   * @param emails Emails of the employees.
+   * @return {@link List<EmployeeSearchRow>} Searchable fields of the employees, one row per skill.
+   */
+  @Query(SEARCH_ROW_QUERY + "AND e.email IN :emails")
+  List<EmployeeSearchRow> findSearchRowsByEmailIn(@Param("emails") Collection<String> emails);
+
+  /**
+   * <p>
+   * Retrieves the ids of the active employees who have the given skill.
+   * </p>
+   *
+   * @param skillId Id of the skill.
+   * @return {@link List<Integer>} Ids of the employees.
+   */
+  @Query("SELECT e.id FROM Employee e JOIN e.skills s WHERE e.isDeleted = false AND s.id = :skillId")
+  List<Integer> findIdsBySkillId(@Param("skillId") int skillId);
+
+  /**
+   * <p>
+   * Retrieves the ids of the active employees who have the given role.
+   * </p>
+   *
+   * @param roleId Id of the role.
+   * @return {@link List<Integer>} Ids of the employees.
+   */
+  @Query("SELECT e.id FROM Employee e WHERE e.isDeleted = false AND e.role.id = :roleId")
+  List<Integer> findIdsByRoleId(@Param("roleId") int roleId);
+
+  /**
+   * <p>
+   * Retrieves the highest id given to an employee.
+   * </p>
+   *
+   * @return int Highest employee id, 0 if there are no employees.
+   */
+  @Query("SELECT COALESCE(MAX(e.id), 0) FROM Employee e")
+  int findMaxId();
+
+  /**
+   * <p>
+   * Streams the active skills of all the active employees.
+   * The stream must be consumed within a transaction and closed.
+   * </p>
+   *
+   * @return {@link Stream<SkillAssignment>} Ids of the skills along with the ids of their employees.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT new com.i2i.ems.model.SkillAssignment(s.id, e.id) "
+      + "FROM Employee e JOIN e.skills s WHERE e.isDeleted = false AND s.isDeleted = false")
+  Stream<SkillAssignment> streamSkillAssignments();
+
+  /**
+   * <p>
+   * Retrieves the active skills of the active employees with the given ids.
+   * </p>
+   *
+   * @param ids Ids of the employees.
+   * @return {@link List<SkillAssignment>} Ids of the skills along with the ids of their employees.
+   */
+  @Query("SELECT new com.i2i.ems.model.SkillAssignment(s.id, e.id) "
+      + "FROM Employee e JOIN e.skills s WHERE e.isDeleted = false AND s.isDeleted = false AND e.id IN :ids")
+  List<SkillAssignment> findSkillAssignmentsByEmployeeIdIn(@Param("ids") Collection<Integer> ids);
+
+  /**
+   * <p>
+   * Retrieves the headcount fields of the active employees whose id is within the given range.
+   * </p>
+   *
+   * @param from Lowest id of the range.
+   * @param to Highest id of the range.
+   * @return {@link List<EmployeeProfileRow>} Headcount fields of the employees, one row per skill.
+   */
+  @Query(PROFILE_ROW_QUERY + "AND e.id BETWEEN :from AND :to")
+  List<EmployeeProfileRow> findProfileRowsBetween(@Param("from") int from, @Param("to") int to);
+
+  /**
+   * <p>
+   * Retrieves the headcount fields of the active employees with the given ids.
+   * </p>
+   *
+   * @param ids Ids of the employees.
+   * @return {@link List<EmployeeProfileRow>} Headcount fields of the employees, one row per skill.
+   */
+  @Query(PROFILE_ROW_QUERY + "AND e.id IN :ids")
+  List<EmployeeProfileRow> findProfileRowsByIdIn(@Param("ids") Collection<Integer> ids);
+
+  /**
+   * <p>
+   * Retrieves the headcount fields of the active employees with the given emails.
+   * </p>
+   *
+   * @param emails Emails of the employees.
+   * @return {@link List<EmployeeProfileRow>} Headcount fields of the employees, one row per skill.
+   */
+  @Query(PROFILE_ROW_QUERY + "AND e.email IN :emails")
+  List<EmployeeProfileRow> findProfileRowsByEmailIn(@Param("emails") Collection<String> emails);
+
+  /**
+   * <p>
+   * Retrieves the versions of the active employee and of their account, role and skills
+   * with one aggregate query, without loading any of them.
+   * </p>
+   *
+   * @param id Id of the employee.
+   * @return {@link EmployeeVersions} Versions of the employee, null if there is no active employee with the id.
+   */
+  @Query("SELECT new com.i2i.ems.model.EmployeeVersions(e.id, e.email, e.version, a.id, a.version, "
+      + "r.id, r.version, COALESCE(SUM(s.version), 0L)) "
+      + "FROM Employee e LEFT JOIN e.account a LEFT JOIN e.role r LEFT JOIN e.skills s "
+      + "WHERE e.id = :id AND e.isDeleted = false "
+      + "GROUP BY e.id, e.email, e.version, a.id, a.version, r.id, r.version")
+  EmployeeVersions findVersionsById(@Param("id") int id);
+}
@@ -1,13 +1,18 @@
 package com.i2i.ems.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
 import com.i2i.ems.model.Role;
 
 /**
  * <p>
  * Provides methods to access role details from the database.
+ * Lookups are served from the query cache until the role table changes.
  * </p>
  */
 @Repository
@@ -21,6 +26,7 @@ public interface RoleRepository extends JpaRepository<Role, Integer> {
    * @param id Id of the role.
    * @return {@link Role} Role details.
    */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   Role findByIdAndIsDeletedFalse(int id);
 
   /**
@@ -32,5 +38,6 @@ public interface RoleRepository extends JpaRepository<Role, Integer> {
    * @param department Department of the role.
    * @return {@link Role} Role details.
    */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   Role findByDesignationAndDepartment(String designation, String department);
 }
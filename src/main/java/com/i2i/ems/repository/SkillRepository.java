@@ -1,12 +1,24 @@
 package com.i2i.ems.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import com.i2i.ems.model.Skill;
+import com.i2i.ems.model.SkillCatalogRow;
+import com.i2i.ems.model.SkillCatalogVersion;
 
 /**
  * <p>
  * Provides methods to access skill details from the database.
+ * Lookups are served from the query cache until the skill table changes.
  * </p>
  */
 public interface SkillRepository extends JpaRepository<Skill, Integer> {
@@ -19,6 +31,7 @@ public interface SkillRepository extends JpaRepository<Skill, Integer> {
    * @param id Id of the skill.
    * @return {@link Skill} Skill details.
    */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   Skill findByIdAndIsDeletedFalse(int id);
 
   /**
@@ -29,6 +42,7 @@ public interface SkillRepository extends JpaRepository<Skill, Integer> {
    * @param name Name of the skill.
    * @return {@link Skill} Skill details.
    */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   Skill findByName(String name);
 
   /**
@@ -39,5 +53,41 @@ public interface SkillRepository extends JpaRepository<Skill, Integer> {
    * @param name Name of the skill.
    * @return boolean True if skill exists, else false.
    */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   boolean existsByName(String name);
+
+  /**
+   * <p>
+   * Find skills by their names, so many skills are resolved with one query.
+   * </p>
+   *
+   * @param names Names of the skills.
+   * @return {@link List<Skill>} Skills having any of the names, in id order.
+   */
+  List<Skill> findByNameInOrderById(Collection<String> names);
+
+  /**
+   * <p>
+   * Streams the active skills in id order, so the skill catalog is built as they are read.
+   * The skills are not loaded into the persistence context.
+   * The stream must be consumed within a transaction and closed.
+   * </p>
+   *
+   * @return {@link Stream<SkillCatalogRow>} All the active skills along with their versions.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT new com.i2i.ems.model.SkillCatalogRow(s.id, s.name, s.category, s.institute, s.version) "
+      + "FROM Skill s WHERE s.isDeleted = false ORDER BY s.id")
+  Stream<SkillCatalogRow> streamCatalogRows();
+
+  /**
+   * <p>
+   * Sums up the active skills, to tell whether the skill catalog is out of date.
+   * </p>
+   *
+   * @return {@link SkillCatalogVersion} Number of the active skills along with the sums of their ids and versions.
+   */
+  @Query("SELECT new com.i2i.ems.model.SkillCatalogVersion(COUNT(s), COALESCE(SUM(s.id), 0), "
+      + "COALESCE(SUM(s.version), 0)) FROM Skill s WHERE s.isDeleted = false")
+  SkillCatalogVersion findCatalogVersion();
 }
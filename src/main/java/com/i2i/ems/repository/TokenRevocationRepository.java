@@ -0,0 +1,44 @@
+package com.i2i.ems.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.i2i.ems.model.TokenRevocation;
+
+/**
+ * <p>
+ * Provides methods to access the token revocations shared by every instance.
+ * </p>
+ */
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+  /**
+   * <p>
+   * Retrieves the revocations made after the given time whose tokens have not expired yet.
+   * </p>
+   *
+   * @param revokedAfter Time after which the revocations were made.
+   * @param expiresAfter Time after which the revoked tokens expire, which is the current time.
+   * @return {@link List<TokenRevocation>} Revocations found.
+   */
+  List<TokenRevocation> findByRevokedAtAfterAndExpiresAtAfter(Date revokedAfter, Date expiresAfter);
+
+  /**
+   * <p>
+   * Deletes the revocations whose tokens have expired.
+   * </p>
+   *
+   * @param now Current time.
+   * @return int Number of revocations deleted.
+   */
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM TokenRevocation r WHERE r.expiresAt < :now")
+  int deleteExpired(@Param("now") Date now);
+}
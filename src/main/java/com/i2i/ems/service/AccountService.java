@@ -14,6 +14,7 @@ import com.i2i.ems.helper.EmployeeException;
 import com.i2i.ems.mapper.AccountMapper;
 import com.i2i.ems.model.Account;
 import com.i2i.ems.model.Employee;
+import com.i2i.ems.model.EmployeeVersions;
 import com.i2i.ems.repository.AccountRepository;
 
 /**
@@ -68,11 +69,11 @@ public class AccountService {
     logger.debug("Adding account {}", accountDto.getBankName());
     Account account;
     try {
-      if (null != employeeService.getEmployeeById(employeeId).getAccount()) {
+      Employee employee = employeeService.getEmployeeWithAccountById(employeeId);
+      if (null != employee.getAccount()) {
         throw new DuplicateKeyException("Account already exists for employee " + employeeId);
       }
       account = saveAccount(AccountMapper.dtoToModel(accountDto));
-      Employee employee = employeeService.getEmployeeById(employeeId);
       employee.setAccount(account);
       employeeService.saveEmployee(employee);
       logger.info("Account added for employee {}", employeeId);
@@ -100,7 +101,7 @@ public class AccountService {
     logger.debug("Getting account of employee {}", employeeId);
     Account account;
     try {
-      account = employeeService.getEmployeeById(employeeId).getAccount();
+      account = employeeService.getEmployeeWithAccountById(employeeId).getAccount();
       if (null == account) {
         throw new NoSuchElementException("Account for employee " + employeeId + " not found");
       }
@@ -115,6 +116,20 @@ public class AccountService {
     return AccountMapper.modelToDto(account);
   }
 
+  /**
+   * <p>
+   * Gets the entity tag of the account of an employee from its version
+   * </p>
+   *
+   * @param employeeId employee whose account is tagged
+   * @return String entity tag of the account, null if the employee or their account is not found
+   * @throws EmployeeException if the version cannot be fetched
+   */
+  public String getAccountTag(int employeeId) throws EmployeeException {
+    EmployeeVersions versions = employeeService.getEmployeeVersions(employeeId);
+    return null == versions || null == versions.getAccountId() ? null : versions.accountTag();
+  }
+
   /**
    * <p>
    * Updating account of an employee by replacing with new account
@@ -128,7 +143,7 @@ public class AccountService {
    */
   public AccountDto updateAccount(int employeeId, AccountDto accountDto) throws EmployeeException {
     logger.debug("Updating account {}", employeeId);
-    Account account = employeeService.getEmployeeById(employeeId).getAccount();
+    Account account = employeeService.getEmployeeWithAccountById(employeeId).getAccount();
     if (null == account) {
       throw new NoSuchElementException("Account for employee " + employeeId + " not found");
     }
@@ -149,7 +164,7 @@ public class AccountService {
     logger.debug("Removing account");
     Account account;
     try {
-      Employee employee = employeeService.getEmployeeById(employeeId);
+      Employee employee = employeeService.getEmployeeWithAccountById(employeeId);
       if (null == employee) {
         throw new NoSuchElementException("Employee with id " + employeeId + " not found");
       }
@@ -0,0 +1,331 @@
+package com.i2i.ems.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.i2i.ems.dto.EmployeeDto;
+import com.i2i.ems.dto.FileFormat;
+import com.i2i.ems.dto.ImportError;
+import com.i2i.ems.dto.ImportReport;
+import com.i2i.ems.helper.EmployeeException;
+import com.i2i.ems.model.Type;
+import com.i2i.ems.repository.EmployeeRepository;
+import com.i2i.ems.util.BoundedPasswordEncoder;
+import com.i2i.ems.util.CsvUtil;
+
+/**
+ * <p>
+ * Service class that imports employees in bulk from NDJSON or CSV.
+ * </p>
+ * <p>
+ * The input is read line by line, so only one batch of rows is held in memory at a time.
+ * Rows are validated like a registration and deduplicated by email, both within the import
+ * and against the active employees. The passwords of a batch are hashed in parallel
+ * on a dedicated executor, and the batch is inserted with a single JDBC batch statement.
+ * A row that fails is reported with its line number and does not stop the import.
+ * </p>
+ */
+@Service
+public class EmployeeImportService {
+
+  private static final Logger logger = LogManager.getLogger(EmployeeImportService.class);
+  private static final String INSERT_EMPLOYEE = "INSERT INTO employee "
+      + "(uuid, name, dob, email, mobile_no, is_deleted, user_type, password) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+  @Autowired
+  private EmployeeRepository employeeRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private PasswordEncoder passwordEncoder;
+
+  @Autowired
+  private UserService userService;
+
+  @Autowired
+  private EmployeeSearchService employeeSearchService;
+
+  @Autowired
+  private HeadcountService headcountService;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private Validator validator;
+
+  @Value("${ems.employees.import.batch-size:500}")
+  private int batchSize;
+
+  @Value("${ems.employees.import.hashing-threads:4}")
+  private int hashingThreads;
+
+  private ExecutorService hashingExecutor;
+
+  /**
+   * <p>
+   * A parsed row of the import with the line it was read from.
+   * </p>
+   */
+  private record ImportRow(long line, EmployeeDto employee) {
+  }
+
+  @PostConstruct
+  public void init() {
+    hashingExecutor = Executors.newFixedThreadPool(hashingThreads,
+        Thread.ofPlatform().name("import-hashing-", 0).daemon(true).factory());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    hashingExecutor.shutdown();
+  }
+
+  /**
+   * <p>
+   * Imports the employees read from the input stream.
+   * A CSV import starts with a header line naming the columns,
+   * an NDJSON import has one employee object per line.
+   * </p>
+   *
+   * @param format      format of the import
+   * @param inputStream stream the employees are read from
+   * @return {@link ImportReport} number of imported employees and the rows that failed
+   * @throws EmployeeException if the input cannot be read or the database is unavailable
+   */
+  public ImportReport importEmployees(FileFormat format, InputStream inputStream) {
+    logger.debug("Importing employees as {}", format);
+    List<ImportError> errors = new ArrayList<>();
+    Set<String> importedEmails = new HashSet<>();
+    List<ImportRow> batch = new ArrayList<>(batchSize);
+    int imported = 0;
+    long lineNumber = 0;
+    try {
+      BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+      List<String> header = null;
+      String line;
+      while (null != (line = reader.readLine())) {
+        lineNumber++;
+        if (line.isBlank()) {
+          continue;
+        }
+        if (FileFormat.CSV == format && null == header) {
+          header = CsvUtil.parseLine(line).stream().map(String::trim).toList();
+          continue;
+        }
+        EmployeeDto employee;
+        try {
+          employee = parseRow(format, header, line);
+        } catch (IOException | IllegalArgumentException e) {
+          errors.add(error(lineNumber, null, "Malformed row"));
+          continue;
+        }
+        String message = validate(employee);
+        if (null != message) {
+          errors.add(error(lineNumber, employee.getEmail(), message));
+          continue;
+        }
+        if (!importedEmails.add(normalize(employee.getEmail()))) {
+          errors.add(error(lineNumber, employee.getEmail(), "Email is repeated in the import"));
+          continue;
+        }
+        batch.add(new ImportRow(lineNumber, employee));
+        if (batch.size() >= batchSize) {
+          imported += insertBatch(batch, errors);
+          batch.clear();
+        }
+      }
+      imported += insertBatch(batch, errors);
+    } catch (Exception e) {
+      logger.error("Cannot import employees at line {}, {} imported", lineNumber, imported, e);
+      throw new EmployeeException("Cannot import employees at line " + lineNumber + ", "
+          + imported + " employees were imported", e);
+    }
+    logger.info("Imported {} employees, {} rows failed", imported, errors.size());
+    errors.sort(Comparator.comparingLong(ImportError::getLine));
+    return ImportReport.builder()
+        .imported(imported)
+        .failed(errors.size())
+        .errors(errors)
+        .build();
+  }
+
+  /**
+   * <p>
+   * Parses a line of the import into an employee.
+   * CSV fields are bound by the header names, with the same conversions as NDJSON.
+   * </p>
+   */
+  private EmployeeDto parseRow(FileFormat format, List<String> header, String line) throws IOException {
+    if (FileFormat.NDJSON == format) {
+      return objectMapper.readValue(line, EmployeeDto.class);
+    }
+    List<String> fields = CsvUtil.parseLine(line);
+    if (fields.size() != header.size()) {
+      throw new IllegalArgumentException("Expected " + header.size() + " fields");
+    }
+    Map<String, String> values = new HashMap<>();
+    for (int i = 0; i < fields.size(); i++) {
+      if (!fields.get(i).isEmpty()) {
+        values.put(header.get(i), fields.get(i));
+      }
+    }
+    return objectMapper.convertValue(values, EmployeeDto.class);
+  }
+
+  /**
+   * <p>
+   * Validates the employee like a registration.
+   * </p>
+   *
+   * @return {@link String} reason the employee is invalid, null if it is valid
+   */
+  private String validate(EmployeeDto employee) {
+    if (null == employee.getEmail() || employee.getEmail().isBlank()) {
+      return "Email is required";
+    }
+    if (null == employee.getPassword() || employee.getPassword().isEmpty()) {
+      return "Password is required";
+    }
+    Set<ConstraintViolation<EmployeeDto>> violations = validator.validate(employee);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+        .map(ConstraintViolation::getMessage)
+        .sorted()
+        .collect(Collectors.joining("; "));
+  }
+
+  /**
+   * <p>
+   * Inserts the rows of the batch whose email is not taken by an active employee.
+   * The batch is inserted in one transaction, and if it fails, row by row,
+   * so that only the failing rows are reported.
+   * </p>
+   *
+   * @return int number of employees inserted
+   */
+  private int insertBatch(List<ImportRow> batch, List<ImportError> errors) {
+    if (batch.isEmpty()) {
+      return 0;
+    }
+    Set<String> activeEmails = employeeRepository.findActiveEmails(batch.stream()
+            .map(row -> row.employee().getEmail())
+            .toList())
+        .stream()
+        .map(EmployeeImportService::normalize)
+        .collect(Collectors.toSet());
+    List<ImportRow> rows = new ArrayList<>(batch.size());
+    for (ImportRow row : batch) {
+      if (activeEmails.contains(normalize(row.employee().getEmail()))) {
+        errors.add(error(row.line(), row.employee().getEmail(), "Employee with the same email already exists"));
+      } else {
+        rows.add(row);
+      }
+    }
+    List<Object[]> arguments = hashAndBind(rows);
+    List<ImportRow> inserted = new ArrayList<>(rows.size());
+    try {
+      transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_EMPLOYEE, arguments));
+      inserted.addAll(rows);
+    } catch (DataAccessException e) {
+      logger.warn("Cannot insert batch of {} employees, inserting them one by one", rows.size(), e);
+      for (int i = 0; i < rows.size(); i++) {
+        try {
+          jdbcTemplate.update(INSERT_EMPLOYEE, arguments.get(i));
+          inserted.add(rows.get(i));
+        } catch (DataAccessException rowException) {
+          errors.add(error(rows.get(i).line(), rows.get(i).employee().getEmail(), "Cannot insert employee"));
+        }
+      }
+    }
+    inserted.forEach(row -> userService.evictUser(row.employee().getEmail()));
+    List<String> emails = inserted.stream()
+        .map(row -> row.employee().getEmail())
+        .toList();
+    employeeSearchService.indexEmployeesByEmail(emails);
+    headcountService.refreshEmployeesByEmail(emails);
+    return inserted.size();
+  }
+
+  /**
+   * <p>
+   * Hashes the passwords of the rows in parallel and binds the rows to the insert statement.
+   * Hashing bypasses the bounds of the login encoder, since the import brings its own executor.
+   * </p>
+   */
+  private List<Object[]> hashAndBind(List<ImportRow> rows) {
+    PasswordEncoder encoder = passwordEncoder instanceof BoundedPasswordEncoder bounded
+        ? bounded.getDelegate() : passwordEncoder;
+    List<CompletableFuture<String>> hashes = rows.stream()
+        .map(row -> CompletableFuture.supplyAsync(() -> encoder.encode(row.employee().getPassword()),
+            hashingExecutor))
+        .toList();
+    List<Object[]> arguments = new ArrayList<>(rows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      EmployeeDto employee = rows.get(i).employee();
+      arguments.add(new Object[]{
+          UUID.randomUUID().toString(),
+          employee.getName(),
+          null != employee.getDob() ? new Timestamp(employee.getDob().getTime()) : null,
+          employee.getEmail(),
+          employee.getMobileNo(),
+          false,
+          Type.EMPLOYEE.name(),
+          hashes.get(i).join()
+      });
+    }
+    return arguments;
+  }
+
+  private static String normalize(String email) {
+    return email.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static ImportError error(long line, String email, String message) {
+    return ImportError.builder()
+        .line(line)
+        .email(email)
+        .message(message)
+        .build();
+  }
+}
@@ -0,0 +1,237 @@
+package com.i2i.ems.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.i2i.ems.dto.EmployeeDto;
+import com.i2i.ems.helper.EmployeeException;
+import com.i2i.ems.mapper.EmployeeMapper;
+import com.i2i.ems.model.EmployeeSearchRow;
+import com.i2i.ems.repository.EmployeeRepository;
+import com.i2i.ems.util.EmployeeSearchIndex;
+
+/**
+ * <p>
+ * Service class that searches employees by name, email, role and skill.
+ * </p>
+ * <p>
+ * Searches are answered by the in-memory {@link EmployeeSearchIndex}, only the summaries
+ * of the matching employees are read from the database. The index is built before the
+ * application starts serving, loading ranges of employee ids in parallel, and the write
+ * paths reindex the employees they change once the change is saved.
+ * A failed reindex is logged and does not fail the write. As only the changes made on this
+ * node are applied, the index is rebuilt from the database periodically. Employees changed
+ * while a rebuild runs are reindexed again once it completes.
+ * </p>
+ */
+@Service
+public class EmployeeSearchService {
+
+  private static final Logger logger = LogManager.getLogger(EmployeeSearchService.class);
+  private static final int REINDEX_CHUNK_SIZE = 1000;
+
+  @Autowired
+  private EmployeeRepository employeeRepository;
+
+  @Autowired
+  private EmployeeSearchIndex employeeSearchIndex;
+
+  @Value("${ems.employees.search.build-threads:4}")
+  private int buildThreads;
+
+  @Value("${ems.employees.search.build-chunk-size:10000}")
+  private int buildChunkSize;
+
+  @Value("${ems.employees.max-page-size:100}")
+  private int maxPageSize;
+
+  private volatile Set<Integer> changedDuringReconcile;
+
+  /**
+   * <p>
+   * Builds the index from the active employees.
+   * </p>
+   *
+   * @throws EmployeeException if the employees cannot be loaded
+   */
+  @PostConstruct
+  public void buildIndex() {
+    try {
+      rebuild();
+    } catch (Exception e) {
+      logger.error("Cannot build the employee search index", e);
+      throw new EmployeeException("Cannot build the employee search index", e);
+    }
+  }
+
+  /**
+   * <p>
+   * Rebuilds the index from the database, picking up the changes made on other nodes.
+   * Ranges are replaced as they are loaded, a failed rebuild keeps the ranges not yet loaded.
+   * </p>
+   */
+  @Scheduled(fixedDelayString = "${ems.employees.search.reconcile-interval:PT1H}",
+      initialDelayString = "${ems.employees.search.reconcile-interval:PT1H}")
+  public void reconcile() {
+    try {
+      rebuild();
+    } catch (Exception e) {
+      logger.error("Cannot reconcile the employee search index", e);
+    }
+  }
+
+  private synchronized void rebuild() {
+    long start = System.nanoTime();
+    changedDuringReconcile = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(buildThreads,
+        Thread.ofPlatform().name("search-index-", 0).daemon(true).factory());
+    try {
+      int maxId = employeeRepository.findMaxId();
+      List<CompletableFuture<Void>> chunks = new ArrayList<>();
+      for (int from = 1; from <= maxId; from += buildChunkSize) {
+        int to = (int) Math.min((long) from + buildChunkSize - 1, maxId);
+        int chunkStart = from;
+        chunks.add(CompletableFuture.runAsync(() -> indexRange(chunkStart, to), executor));
+      }
+      CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+      logger.info("Indexed {} employees for search in {} ms", employeeSearchIndex.size(),
+          (System.nanoTime() - start) / 1_000_000);
+    } finally {
+      executor.shutdown();
+      Set<Integer> changed = changedDuringReconcile;
+      changedDuringReconcile = null;
+      reindexEmployees(changed);
+    }
+  }
+
+  private void indexRange(int from, int to) {
+    List<Integer> ids = new ArrayList<>(to - from + 1);
+    for (int id = from; id <= to; id++) {
+      ids.add(id);
+    }
+    employeeSearchIndex.replace(ids, employeeRepository.findSearchRowsBetween(from, to));
+  }
+
+  /**
+   * <p>
+   * Searches the active employees having a name, email, role or skill
+   * that starts with each word of the query.
+   * The size is capped to the maximum page size.
+   * </p>
+   *
+   * @param query words to be searched
+   * @param size  maximum number of employees returned
+   * @return {@link List<EmployeeDto>} matching employees, in id order
+   * @throws EmployeeException if the employees cannot be retrieved
+   */
+  public List<EmployeeDto> searchEmployees(String query, int size) {
+    logger.debug("Searching employees for {}", query);
+    List<Integer> ids = employeeSearchIndex.search(query, Math.min(size, maxPageSize));
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    try {
+      List<EmployeeDto> employees = employeeRepository.findSummariesByIdIn(ids).stream()
+          .map(EmployeeMapper::summaryToDto)
+          .collect(Collectors.toList());
+      logger.info("Found {} employees for search", employees.size());
+      return employees;
+    } catch (Exception e) {
+      logger.error("Cannot search employees for {}", query, e);
+      throw new EmployeeException("Cannot search employees", e);
+    }
+  }
+
+  /**
+   * <p>
+   * Reindexes the employees with the given ids from their saved details.
+   * Many employees are reloaded a chunk of ids at a time.
+   * </p>
+   *
+   * @param ids ids of the employees changed
+   */
+  public void reindexEmployees(Collection<Integer> ids) {
+    Set<Integer> changed = changedDuringReconcile;
+    if (null != changed) {
+      changed.addAll(ids);
+    }
+    List<Integer> idList = List.copyOf(ids);
+    for (int from = 0; from < idList.size(); from += REINDEX_CHUNK_SIZE) {
+      List<Integer> chunk = idList.subList(from, Math.min(from + REINDEX_CHUNK_SIZE, idList.size()));
+      try {
+        employeeSearchIndex.replace(chunk, employeeRepository.findSearchRowsByIdIn(chunk));
+      } catch (Exception e) {
+        logger.error("Cannot reindex employees {} for search", chunk, e);
+      }
+    }
+  }
+
+  /**
+   * <p>
+   * Indexes the employees with the given emails, which have just been inserted.
+   * </p>
+   *
+   * @param emails emails of the employees inserted
+   */
+  public void indexEmployeesByEmail(Collection<String> emails) {
+    if (emails.isEmpty()) {
+      return;
+    }
+    try {
+      List<EmployeeSearchRow> rows = employeeRepository.findSearchRowsByEmailIn(emails);
+      Set<Integer> ids = rows.stream().map(EmployeeSearchRow::getId).collect(Collectors.toSet());
+      Set<Integer> changed = changedDuringReconcile;
+      if (null != changed) {
+        changed.addAll(ids);
+      }
+      employeeSearchIndex.replace(ids, rows);
+    } catch (Exception e) {
+      logger.error("Cannot index {} employees for search", emails.size(), e);
+    }
+  }
+
+  /**
+   * <p>
+   * Reindexes the employees who have the given skill, after it is changed.
+   * </p>
+   *
+   * @param skillId id of the skill changed
+   */
+  public void reindexSkill(int skillId) {
+    try {
+      reindexEmployees(employeeRepository.findIdsBySkillId(skillId));
+    } catch (Exception e) {
+      logger.error("Cannot reindex employees of skill {} for search", skillId, e);
+    }
+  }
+
+  /**
+   * <p>
+   * Reindexes the employees who have the given role, after it is changed.
+   * </p>
+   *
+   * @param roleId id of the role changed
+   */
+  public void reindexRole(int roleId) {
+    try {
+      reindexEmployees(employeeRepository.findIdsByRoleId(roleId));
+    } catch (Exception e) {
+      logger.error("Cannot reindex employees of role {} for search", roleId, e);
+    }
+  }
+}
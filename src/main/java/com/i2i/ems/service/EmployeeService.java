@@ -1,34 +1,75 @@
 package com.i2i.ems.service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.i2i.ems.dto.CursorPage;
+import com.i2i.ems.dto.EmployeeBatch;
 import com.i2i.ems.dto.EmployeeDto;
+import com.i2i.ems.dto.EmployeeFields;
+import com.i2i.ems.dto.FileFormat;
 import com.i2i.ems.helper.EmployeeException;
 import com.i2i.ems.helper.ForbiddenException;
+import com.i2i.ems.helper.ServerBusyException;
 import com.i2i.ems.helper.UnAuthorizedException;
 import com.i2i.ems.mapper.EmployeeMapper;
 import com.i2i.ems.model.Account;
 import com.i2i.ems.model.Employee;
+import com.i2i.ems.model.EmployeePrincipal;
+import com.i2i.ems.model.EmployeeSummary;
+import com.i2i.ems.model.EmployeeVersions;
+import com.i2i.ems.model.Role;
+import com.i2i.ems.model.Skill;
+import com.i2i.ems.repository.AccountRepository;
 import com.i2i.ems.repository.EmployeeRepository;
+import com.i2i.ems.repository.RoleRepository;
+import com.i2i.ems.repository.SkillRepository;
+import com.i2i.ems.util.CsvUtil;
+import com.i2i.ems.util.CursorUtil;
+import com.i2i.ems.util.DateUtil;
 import com.i2i.ems.util.JwtTokenUtil;
+import com.i2i.ems.util.SkillBitmapIndex;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.NonNull;
 
 
@@ -44,19 +85,61 @@ import lombok.NonNull;
 public class EmployeeService {
 
   private static final Logger logger = LogManager.getLogger(EmployeeService.class);
+  private static final String CSV_HEADER = "uuid,name,email,mobileNo,age\r\n";
+  private static final int SAVE_ATTEMPTS = 3;
 
   @Autowired
   private EmployeeRepository employeeRepository;
 
   @Autowired
-  private BCryptPasswordEncoder passwordEncoder;
+  private AccountRepository accountRepository;
+
+  @Autowired
+  private RoleRepository roleRepository;
+
+  @Autowired
+  private SkillRepository skillRepository;
+
+  @Autowired
+  private PasswordEncoder passwordEncoder;
 
   @Autowired
   private AuthenticationManager authenticationManager;
 
+  @Autowired
+  private UserService userService;
+
+  @Autowired
+  private JwtTokenUtil jwtTokenUtil;
+
+  @Autowired
+  private TokenRevocationService tokenRevocationService;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private EmployeeSearchService employeeSearchService;
+
+  @Autowired
+  private HeadcountService headcountService;
+
+  @Autowired
+  private SkillCatalogService skillCatalogService;
+
+  @Autowired
+  private SkillBitmapIndex skillBitmapIndex;
+
+  @Value("${ems.security.stateless-authentication:false}")
+  private boolean statelessAuthentication;
+
+  @Value("${ems.employees.max-page-size:100}")
+  private int maxPageSize;
+
   /**
    * <p>
    * Saves the employee to the database
+   * and reindexes it for search and headcount
    * </p>
    *
    * @param employee employee details to be saved
@@ -67,6 +150,8 @@ public class EmployeeService {
     logger.debug("Saving employee {}", employee.getName());
     try {
       employee = employeeRepository.save(employee);
+      employeeSearchService.reindexEmployees(List.of(employee.getId()));
+      headcountService.refreshEmployees(List.of(employee.getId()));
       logger.info("Employee {} saved successfully", employee.getId());
     } catch (Exception e) {
       logger.error("Cannot save employee {}", employee.getName(), e);
@@ -75,6 +160,18 @@ public class EmployeeService {
     return employee;
   }
 
+  /**
+   * <p>
+   * Records the skills of the saved employee in the skill index
+   * </p>
+   *
+   * @param employee saved employee along with all their skills
+   */
+  private void indexSkills(Employee employee) {
+    skillBitmapIndex.replace(employee.getId(), null == employee.getSkills() ? List.of()
+        : employee.getSkills().stream().map(Skill::getId).toList());
+  }
+
   /**
    * <p>
    * Adds details to currently logged in employee
@@ -102,7 +199,10 @@ public class EmployeeService {
       employee.setPassword(existingEmployee.getPassword());
       employee.setId(existingEmployee.getId());
       employee.setUUID(UUID.randomUUID().toString());
-      saveEmployee(employee);
+      employee = saveOverSaved(employee);
+      indexSkills(employee);
+      skillCatalogService.refreshSkills(employee.getSkills());
+      userService.evictUser(existingEmployee.getEmail());
       logger.info("Employee {} added successfully", employee.getId());
     } catch (DuplicateKeyException e) {
       logger.error("Employee {} already exists", employeeDto.getName());
@@ -132,7 +232,7 @@ public class EmployeeService {
    */
   public EmployeeDto getEmployee(int id, String email) throws ForbiddenException, EmployeeException {
     logger.debug("Getting employee {}", id);
-    Employee employee = getEmployeeById(id);
+    Employee employee = getEmployeeDetailsById(id);
     if (!email.equals(employee.getEmail())) {
       throw new ForbiddenException("You are not authorized to view this employee");
     }
@@ -142,28 +242,350 @@ public class EmployeeService {
 
   /**
    * <p>
-   * Gets all employees of requested size and page
+   * Gets the employees with the given ids, reading all of them along with their account, role
+   * and skills with one query. Each employee is checked as in {@link #getEmployee}, the ids of
+   * employees that are not found or that the logged-in user is not authorized to view are reported apart.
+   * Repeated ids are retrieved once. At most the maximum page size of ids can be given.
+   * The employees carry their ids, so they can be matched with the requested ids.
+   * </p>
+   *
+   * @param ids   employee ids to get details, in the order they are returned
+   * @param email email of the logged-in user
+   * @return {@link EmployeeBatch<EmployeeDto>} employees found along with the ids missing and forbidden
+   * @throws IllegalArgumentException if no ids or too many ids are given
+   * @throws EmployeeException        if any other error occurs while getting employees
+   */
+  public EmployeeBatch<EmployeeDto> getEmployees(List<Integer> ids, String email) {
+    Set<Integer> requested = requestedIds(ids);
+    logger.debug("Getting {} employees", requested.size());
+    Map<Integer, Employee> employees;
+    try {
+      employees = employeeRepository.findDetailsByIdInAndIsDeletedFalse(requested).stream()
+          .collect(Collectors.toMap(Employee::getId, Function.identity()));
+    } catch (Exception e) {
+      logger.error("Cannot get employees {}", requested, e);
+      throw new EmployeeException("Cannot get employees", e);
+    }
+    EmployeeBatch<EmployeeDto> batch =
+        new EmployeeBatch<>(new ArrayList<>(employees.size()), new ArrayList<>(), new ArrayList<>());
+    for (Integer id : requested) {
+      Employee employee = employees.get(id);
+      if (null == employee) {
+        batch.getMissing().add(id);
+      } else if (!email.equals(employee.getEmail())) {
+        batch.getForbidden().add(id);
+      } else {
+        EmployeeDto employeeDto = EmployeeMapper.modelToDto(employee);
+        employeeDto.setId(id);
+        batch.getEmployees().add(employeeDto);
+      }
+    }
+    logger.info("Returning {} of {} employees", batch.getEmployees().size(), requested.size());
+    return batch;
+  }
+
+  /**
+   * <p>
+   * Gets the picked fields of the employees with the given ids, reading only those fields of all
+   * of them with one query. Each employee is checked and reported as in {@link #getEmployees}.
+   * </p>
+   *
+   * @param ids    employee ids to get fields, in the order they are returned
+   * @param email  email of the logged-in user
+   * @param fields fields of the employees to get
+   * @return {@link EmployeeBatch<Map>} picked fields of the employees found along with the ids missing and forbidden
+   * @throws IllegalArgumentException if no ids or too many ids are given
+   * @throws EmployeeException        if any other error occurs while getting employees
+   */
+  public EmployeeBatch<Map<String, Object>> getEmployeesFields(List<Integer> ids, String email,
+                                                               EmployeeFields fields) {
+    Set<Integer> requested = requestedIds(ids);
+    logger.debug("Getting fields {} of {} employees", fields.getKey(), requested.size());
+    Map<Integer, Map<String, Object>> employees;
+    try {
+      employees = employeeRepository.findFieldsByIdIn(requested, fields.with("id").with("email")).stream()
+          .collect(Collectors.toMap(employee -> (Integer) employee.get("id"), Function.identity()));
+    } catch (Exception e) {
+      logger.error("Cannot get fields of employees {}", requested, e);
+      throw new EmployeeException("Cannot get employees", e);
+    }
+    EmployeeBatch<Map<String, Object>> batch =
+        new EmployeeBatch<>(new ArrayList<>(employees.size()), new ArrayList<>(), new ArrayList<>());
+    for (Integer id : requested) {
+      Map<String, Object> employee = employees.get(id);
+      if (null == employee) {
+        batch.getMissing().add(id);
+      } else if (!email.equals(employee.get("email"))) {
+        batch.getForbidden().add(id);
+      } else {
+        if (!fields.contains("email")) {
+          employee.remove("email");
+        }
+        if (!fields.contains("id")) {
+          employee.remove("id");
+        }
+        batch.getEmployees().add(employee);
+      }
+    }
+    logger.info("Returning fields of {} of {} employees", batch.getEmployees().size(), requested.size());
+    return batch;
+  }
+
+  private Set<Integer> requestedIds(List<Integer> ids) {
+    Set<Integer> requested = new LinkedHashSet<>(ids);
+    if (requested.isEmpty() || requested.size() > maxPageSize) {
+      throw new IllegalArgumentException("Between 1 and " + maxPageSize + " ids are required");
+    }
+    return requested;
+  }
+
+  /**
+   * <p>
+   * Gets the picked fields of the employee by id, reading only those fields from the database
    * </p>
    *
-   * @param page page number to get employees
-   * @param size number of employees to get in a page
-   * @return {@link List<EmployeeDto>} details of all employees
+   * @param id     employee id to get details
+   * @param email  email of the logged-in user
+   * @param fields fields of the employee to get
+   * @return {@link Map} picked fields of the employee
+   * @throws ForbiddenException     if employee is not authorized to view other employee details
+   * @throws NoSuchElementException if employee is not found with given id
+   * @throws EmployeeException      if any other error occurs while getting employee
+   */
+  public Map<String, Object> getEmployeeFields(int id, String email, EmployeeFields fields)
+      throws ForbiddenException {
+    logger.debug("Getting fields {} of employee {}", fields.getKey(), id);
+    List<Map<String, Object>> employees;
+    try {
+      employees = employeeRepository.findFieldsByIdIn(List.of(id), fields.with("email"));
+    } catch (Exception e) {
+      logger.error("Cannot get employee {}", id, e);
+      throw new EmployeeException("Cannot get employee " + id, e);
+    }
+    if (employees.isEmpty()) {
+      logger.error("Employee {} not found", id);
+      throw new NoSuchElementException("Employee with id " + id + " not found");
+    }
+    Map<String, Object> employee = employees.get(0);
+    if (!email.equals(employee.get("email"))) {
+      throw new ForbiddenException("You are not authorized to view this employee");
+    }
+    if (!fields.contains("email")) {
+      employee.remove("email");
+    }
+    logger.info("Returning fields of employee {}", id);
+    return employee;
+  }
+
+  /**
+   * <p>
+   * Writes the picked fields of the employees of the requested size and page to the output stream
+   * as JSON, in the same page as {@link #writeAllEmployees}.
+   * Only the picked fields are read from the database.
+   * The size is capped to the maximum page size.
+   * The output stream is flushed but not closed.
+   * </p>
+   *
+   * @param page         page number to get employees
+   * @param size         number of employees to get in a page
+   * @param fields       fields of the employees to get
+   * @param outputStream stream the page is written to
    * @throws EmployeeException if any error occurs while getting employees
    */
-  public Page<EmployeeDto> getAllEmployees(int page, int size) {
+  @Transactional(readOnly = true)
+  public void writeEmployeeFields(int page, int size, EmployeeFields fields, OutputStream outputStream) {
+    logger.debug("Getting fields {} of all employees", fields.getKey());
+    Pageable pageable = PageRequest.of(page, Math.min(size, maxPageSize), Sort.by("id"));
+    try (JsonGenerator generator = objectMapper.createGenerator(outputStream)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)) {
+      List<Map<String, Object>> employees = employeeRepository.findFieldsByIsDeletedFalse(pageable, fields);
+      generator.writeStartObject();
+      generator.writeFieldName("content");
+      objectMapper.writerFor(List.class)
+          .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+          .writeValue(generator, employees);
+      writeUnpagedFields(generator, employees.size());
+      generator.writeEndObject();
+      logger.info("Returning fields of employees list of {}", employees.size());
+    } catch (Exception e) {
+      logger.error("Cannot get fields of all employees", e);
+      throw new EmployeeException("Cannot getting all employees", e);
+    }
+  }
+
+  /**
+   * <p>
+   * Writes the employees of the requested size and page to the output stream as JSON.
+   * Employees are streamed from the database and written as they are read,
+   * so the first bytes go out before the page is complete and memory use does not depend on the size.
+   * One sequence writer serializes the whole page, reusing its serializers for every employee.
+   * The page keeps the fields of the unpaged {@link Page} it was returned as before.
+   * If reading fails once the response is committed, the page is left unterminated and
+   * the connection is aborted by the {@link com.i2i.ems.helper.GlobalExceptionHandler},
+   * as the status can no longer be changed.
+   * The size is capped to the maximum page size, the export is meant for larger reads.
+   * The output stream is flushed but not closed.
+   * </p>
+   *
+   * @param page         page number to get employees
+   * @param size         number of employees to get in a page
+   * @param outputStream stream the page is written to
+   * @throws EmployeeException if any error occurs while getting employees
+   */
+  @Transactional(readOnly = true)
+  public void writeAllEmployees(int page, int size, OutputStream outputStream) {
     logger.debug("Getting all employees");
-    Page<Employee> employees;
-    try {
-      Pageable pageable = PageRequest.of(page, size);
-      employees = employeeRepository.findAllByIsDeletedFalse(pageable);
-      logger.info("Returning employees list");
+    int count = 0;
+    Pageable pageable = PageRequest.of(page, Math.min(size, maxPageSize), Sort.by("id"));
+    try (Stream<EmployeeSummary> employees = employeeRepository.streamSummariesByIsDeletedFalse(pageable);
+         JsonGenerator generator = objectMapper.createGenerator(outputStream)
+             .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+             .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)) {
+      generator.writeStartObject();
+      generator.writeFieldName("content");
+      try (SequenceWriter content = objectMapper.writerFor(EmployeeDto.class)
+          .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+          .writeValuesAsArray(generator)) {
+        Iterator<EmployeeSummary> iterator = employees.iterator();
+        while (iterator.hasNext()) {
+          content.write(EmployeeMapper.summaryToDto(iterator.next()));
+          count++;
+        }
+      }
+      writeUnpagedFields(generator, count);
+      generator.writeEndObject();
+      logger.info("Returning employees list of {}", count);
     } catch (Exception e) {
-      logger.error("Cannot get all employees", e);
+      logger.error("Cannot get all employees after {} rows", count, e);
       throw new EmployeeException("Cannot getting all employees", e);
     }
-    return new PageImpl<>(employees.stream()
-        .map(EmployeeMapper::modelsToDtos)
-        .collect(Collectors.toList()));
+  }
+
+  /**
+   * <p>
+   * Writes the fields that follow the content of an unpaged {@link Page} of the given number of elements,
+   * as the object mapper writes them for a {@link org.springframework.data.domain.PageImpl}.
+   * The controller tests compare the two.
+   * </p>
+   */
+  private static void writeUnpagedFields(JsonGenerator generator, int count) throws IOException {
+    generator.writeStringField("pageable", "INSTANCE");
+    generator.writeNumberField("totalPages", 1);
+    generator.writeNumberField("totalElements", count);
+    generator.writeBooleanField("last", true);
+    generator.writeNumberField("size", count);
+    generator.writeNumberField("number", 0);
+    generator.writeObjectFieldStart("sort");
+    generator.writeBooleanField("empty", true);
+    generator.writeBooleanField("sorted", false);
+    generator.writeBooleanField("unsorted", true);
+    generator.writeEndObject();
+    generator.writeNumberField("numberOfElements", count);
+    generator.writeBooleanField("first", true);
+    generator.writeBooleanField("empty", 0 == count);
+  }
+
+  /**
+   * <p>
+   * Gets the page of employees that follows the given cursor, in id order.
+   * One extra employee is fetched to know whether another page follows.
+   * The size is capped to the maximum page size.
+   * </p>
+   *
+   * @param cursor cursor returned with the previous page, empty for the first page
+   * @param size   number of employees to get in a page
+   * @return {@link CursorPage<EmployeeDto>} employees of the page and the cursor of the next page
+   * @throws IllegalArgumentException if the cursor is malformed or the size is not positive
+   * @throws EmployeeException        if any error occurs while getting employees
+   */
+  public CursorPage<EmployeeDto> getEmployeesAfter(String cursor, int size) {
+    logger.debug("Getting employees after cursor {}", cursor);
+    if (size < 1) {
+      throw new IllegalArgumentException("Page size must be positive");
+    }
+    size = Math.min(size, maxPageSize);
+    int after = CursorUtil.decode(cursor);
+    List<EmployeeSummary> employees;
+    try {
+      employees = employeeRepository.findSummariesAfter(after, Limit.of(size + 1));
+      logger.info("Returning employees after {}", after);
+    } catch (Exception e) {
+      logger.error("Cannot get employees after {}", after, e);
+      throw new EmployeeException("Cannot getting employees", e);
+    }
+    boolean hasNext = employees.size() > size;
+    List<EmployeeSummary> content = hasNext ? employees.subList(0, size) : employees;
+    return CursorPage.<EmployeeDto>builder()
+        .content(content.stream()
+            .map(EmployeeMapper::summaryToDto)
+            .collect(Collectors.toList()))
+        .next(hasNext ? CursorUtil.encode(content.get(size - 1).getId()) : null)
+        .build();
+  }
+
+  /**
+   * <p>
+   * Writes all active employees to the output stream in the given format, in id order.
+   * Employees are streamed from the database and written one by one,
+   * so memory use does not depend on the number of employees.
+   * A failure once the response is committed aborts the connection,
+   * so that a truncated export is not taken for a complete one.
+   * The output stream is flushed but not closed.
+   * </p>
+   *
+   * @param format       format of the export
+   * @param outputStream stream the employees are written to
+   * @throws EmployeeException if any error occurs while exporting employees
+   */
+  @Transactional(readOnly = true)
+  public void exportEmployees(FileFormat format, OutputStream outputStream) {
+    logger.debug("Exporting employees as {}", format);
+    int count = 0;
+    try (Stream<EmployeeSummary> employees = employeeRepository.streamSummariesByIsDeletedFalse()) {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+      Iterator<EmployeeDto> iterator = employees.map(EmployeeMapper::summaryToDto).iterator();
+      if (FileFormat.CSV == format) {
+        writer.write(CSV_HEADER);
+        while (iterator.hasNext()) {
+          writeCsvRow(writer, iterator.next());
+          count++;
+        }
+      } else {
+        JsonGenerator generator = objectMapper.createGenerator(writer)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .setRootValueSeparator(null);
+        while (iterator.hasNext()) {
+          generator.writeObject(iterator.next());
+          generator.writeRaw('\n');
+          count++;
+        }
+        generator.flush();
+      }
+      writer.flush();
+      logger.info("Exported {} employees as {}", count, format);
+    } catch (Exception e) {
+      logger.error("Cannot export employees after {} rows", count, e);
+      throw new EmployeeException("Cannot export employees", e);
+    }
+  }
+
+  /**
+   * <p>
+   * Writes the employee as a CSV row, quoting the values that need it.
+   * </p>
+   */
+  private static void writeCsvRow(Writer writer, EmployeeDto employee) throws IOException {
+    writer.write(CsvUtil.escape(employee.getUUID()));
+    writer.write(',');
+    writer.write(CsvUtil.escape(employee.getName()));
+    writer.write(',');
+    writer.write(CsvUtil.escape(employee.getEmail()));
+    writer.write(',');
+    writer.write(Long.toString(employee.getMobileNo()));
+    writer.write(',');
+    writer.write(Integer.toString(employee.getAge()));
+    writer.write("\r\n");
   }
 
   /**
@@ -182,8 +604,14 @@ public class EmployeeService {
       employeeDto.setId(employeeRepository.findByEmail(employeeDto.getEmail()).getId());
     }
     try {
-      employeeDto = EmployeeMapper.modelToDto(saveEmployee(EmployeeMapper.dtoToModel(employeeDto)));
-      logger.info("Employee {} updated successfully", employeeDto.getId());
+      int id = employeeDto.getId();
+      Employee employee = EmployeeMapper.dtoToModel(employeeDto);
+      employee = saveOverSaved(employee);
+      indexSkills(employee);
+      skillCatalogService.refreshSkills(employee.getSkills());
+      employeeDto = EmployeeMapper.modelToDto(employee);
+      userService.evictUser(id);
+      logger.info("Employee {} updated successfully", id);
     } catch (Exception e) {
       logger.error("Cannot update employee {}", employeeDto.getName(), e);
       throw new EmployeeException("Cannot updating employee " + employeeDto.getId(), e);
@@ -203,13 +631,16 @@ public class EmployeeService {
   public void deleteEmployee(int id) {
     logger.debug("Deleting employee {}", id);
     try {
-      Employee employee = getEmployeeById(id);
+      Employee employee = getEmployeeWithAccountById(id);
       employee.setIsDeleted(true);
       Account account = employee.getAccount();
       if (null != account) {
         account.setIsDeleted(true);
       }
       saveEmployee(employee);
+      skillBitmapIndex.removeEmployee(id);
+      userService.evictUser(employee.getEmail());
+      tokenRevocationService.revokeSubject(employee.getEmail());
       logger.info("Employee {} deleted successfully", id);
     } catch (NoSuchElementException e) {
       logger.error("Employee {} not found", id);
@@ -220,9 +651,110 @@ public class EmployeeService {
     }
   }
 
+  /**
+   * <p>
+   * Saves the employee built from a DTO in place of the saved employee, so the last writer wins.
+   * The employee, and the saved account, role and skills it refers to, are given the versions
+   * they are saved with, taken from the saved employee loaded along with its details in one
+   * statement. The saved entities are then managed already, so saving does not read them again.
+   * When another change commits in between, the versions are taken again and the save retried.
+   * </p>
+   *
+   * @param employee employee built from a DTO
+   * @return {@link Employee} saved employee details
+   * @throws EmployeeException if employee cannot be saved
+   */
+  private Employee saveOverSaved(Employee employee) {
+    for (int attempt = 1; ; attempt++) {
+      takeSavedVersions(employee);
+      try {
+        return saveEmployee(employee);
+      } catch (EmployeeException e) {
+        if (!(e.getCause() instanceof OptimisticLockingFailureException) || SAVE_ATTEMPTS == attempt) {
+          throw e;
+        }
+        logger.warn("Employee {} was changed while being saved, saving it again", employee.getId());
+      }
+    }
+  }
+
+  private void takeSavedVersions(Employee employee) {
+    Employee saved = 0 == employee.getId() ? null
+        : employeeRepository.findDetailsByIdAndIsDeletedFalse(employee.getId());
+    if (null != saved) {
+      employee.setVersion(saved.getVersion());
+    }
+    Account account = employee.getAccount();
+    if (null != account && 0 != account.getId()) {
+      accountRepository.findById(account.getId())
+          .ifPresent(savedAccount -> account.setVersion(savedAccount.getVersion()));
+    }
+    Role role = employee.getRole();
+    if (null != role && 0 != role.getId()) {
+      roleRepository.findById(role.getId())
+          .ifPresent(savedRole -> role.setVersion(savedRole.getVersion()));
+    }
+    if (null != employee.getSkills()) {
+      Map<Integer, Integer> versions = null == saved ? new HashMap<>() : saved.getSkills().stream()
+          .collect(Collectors.toMap(Skill::getId, Skill::getVersion, (first, second) -> first, HashMap::new));
+      List<Integer> unsavedIds = employee.getSkills().stream()
+          .map(Skill::getId)
+          .filter(id -> 0 != id && !versions.containsKey(id))
+          .toList();
+      if (!unsavedIds.isEmpty()) {
+        skillRepository.findAllById(unsavedIds).forEach(skill -> versions.put(skill.getId(), skill.getVersion()));
+      }
+      employee.getSkills().forEach(skill -> skill.setVersion(versions.getOrDefault(skill.getId(), 0)));
+    }
+  }
+
+  /**
+   * <p>
+   * Gets the versions of the employee and of their account, role and skills,
+   * without loading any of them
+   * </p>
+   *
+   * @param id employee id to get versions
+   * @return {@link EmployeeVersions} versions of the employee, null if employee is not found with given id
+   * @throws EmployeeException if any error occurs while getting versions
+   */
+  protected EmployeeVersions getEmployeeVersions(int id) {
+    logger.debug("Getting versions of employee {}", id);
+    try {
+      return employeeRepository.findVersionsById(id);
+    } catch (Exception e) {
+      logger.error("Cannot get versions of employee {}", id, e);
+      throw new EmployeeException("Cannot get employee " + id, e);
+    }
+  }
+
+  /**
+   * <p>
+   * Gets the entity tag of the details of the employee from their versions and the current date,
+   * after checking that the logged-in user is retrieving their own details
+   * </p>
+   *
+   * @param id    employee id to get the entity tag
+   * @param email email of the logged-in user
+   * @return String entity tag of the employee details, null if employee is not found with given id
+   * @throws ForbiddenException if employee is not authorized to view other employee details
+   * @throws EmployeeException  if any other error occurs while getting versions
+   */
+  public String getEmployeeTag(int id, String email) throws ForbiddenException {
+    EmployeeVersions versions = getEmployeeVersions(id);
+    if (null == versions) {
+      return null;
+    }
+    if (!email.equals(versions.getEmail())) {
+      throw new ForbiddenException("You are not authorized to view this employee");
+    }
+    return versions.employeeTag(DateUtil.today());
+  }
+
   /**
    * <p>
    * Gets employee by id
+   * The account, role and skills of the employee are not loaded.
    * </p>
    *
    * @param id employee id to get details
@@ -231,10 +763,81 @@ public class EmployeeService {
    * @throws EmployeeException      if any other error occurs while getting employee
    */
   protected Employee getEmployeeById(int id) {
+    return getEmployeeById(id, employeeRepository::findByIdAndIsDeletedFalse);
+  }
+
+  /**
+   * <p>
+   * Gets employee by id along with their account, role and skills
+   * </p>
+   *
+   * @param id employee id to get details
+   * @return {@link Employee} employee details of given id
+   * @throws NoSuchElementException if employee is not found with given id
+   * @throws EmployeeException      if any other error occurs while getting employee
+   */
+  protected Employee getEmployeeDetailsById(int id) {
+    return getEmployeeById(id, employeeRepository::findDetailsByIdAndIsDeletedFalse);
+  }
+
+  /**
+   * <p>
+   * Gets employee by id along with their account
+   * </p>
+   *
+   * @param id employee id to get details
+   * @return {@link Employee} employee details of given id
+   * @throws NoSuchElementException if employee is not found with given id
+   * @throws EmployeeException      if any other error occurs while getting employee
+   */
+  protected Employee getEmployeeWithAccountById(int id) {
+    return getEmployeeById(id, employeeRepository::findWithAccountByIdAndIsDeletedFalse);
+  }
+
+  /**
+   * <p>
+   * Gets employee by id along with their role
+   * </p>
+   *
+   * @param id employee id to get details
+   * @return {@link Employee} employee details of given id
+   * @throws NoSuchElementException if employee is not found with given id
+   * @throws EmployeeException      if any other error occurs while getting employee
+   */
+  protected Employee getEmployeeWithRoleById(int id) {
+    return getEmployeeById(id, employeeRepository::findWithRoleByIdAndIsDeletedFalse);
+  }
+
+  /**
+   * <p>
+   * Gets employee by id along with their skills
+   * </p>
+   *
+   * @param id employee id to get details
+   * @return {@link Employee} employee details of given id
+   * @throws NoSuchElementException if employee is not found with given id
+   * @throws EmployeeException      if any other error occurs while getting employee
+   */
+  protected Employee getEmployeeWithSkillsById(int id) {
+    return getEmployeeById(id, employeeRepository::findWithSkillsByIdAndIsDeletedFalse);
+  }
+
+  /**
+   * <p>
+   * Gets employee by id with the given finder, which decides the associations loaded
+   * </p>
+   *
+   * @param id     employee id to get details
+   * @param finder repository method that retrieves the employee
+   * @return {@link Employee} employee details of given id
+   * @throws NoSuchElementException if employee is not found with given id
+   * @throws EmployeeException      if any other error occurs while getting employee
+   */
+  private Employee getEmployeeById(int id, Function<Integer, Employee> finder) {
     logger.debug("Getting employee {}", id);
     Employee employee;
     try {
-      employee = employeeRepository.findByIdAndIsDeletedFalse(id);
+      employee = finder.apply(id);
       if (null == employee) {
         throw new NoSuchElementException("Employee with id " + id + " not found");
       }
@@ -259,6 +862,7 @@ public class EmployeeService {
    * @param employeeDto employee details to be registered
    * @return {@link EmployeeDto} registered employee details
    * @throws DuplicateKeyException if employee with same email already exists
+   * @throws ServerBusyException   if the password hashing queue is full
    * @throws EmployeeException     if any other error occurs while registering employee
    */
   public EmployeeDto createEmployee(EmployeeDto employeeDto) {
@@ -271,10 +875,16 @@ public class EmployeeService {
       }
       employee.setPassword(passwordEncoder.encode(employeeDto.getPassword()));
       saveEmployee(employee);
+      indexSkills(employee);
+      skillCatalogService.refreshSkills(employee.getSkills());
+      userService.evictUser(employee.getEmail());
       logger.info("Employee {} registered successfully", employee.getId());
     } catch (DuplicateKeyException e) {
       logger.error("Employee {} already exists", employeeDto.getEmail());
       throw new DuplicateKeyException(e.getMessage());
+    } catch (ServerBusyException e) {
+      logger.warn("Cannot register employee {}, server is busy", employeeDto.getEmail());
+      throw new ServerBusyException(e.getMessage(), e.getRetryAfterSeconds());
     } catch (Exception e) {
       logger.error("Cannot register employee {}", employeeDto.getEmail(), e);
       throw new EmployeeException("Cannot register employee with email " + employeeDto.getEmail(), e);
@@ -285,23 +895,43 @@ public class EmployeeService {
   /**
    * <p>
    * Logs in an employee
+   * If the stored password hash was made with a different bcrypt cost than the current one,
+   * it is rehashed with the current cost as part of the authentication.
    * </p>
    *
    * @param employeeDto employee details to login
    * @return {@link String} jwt token
    * @throws UnAuthorizedException if email or password is invalid
+   * @throws ServerBusyException   if the password hashing queue is full
    */
   public String createSession(EmployeeDto employeeDto) {
     try {
-      authenticationManager
+      Authentication authentication = authenticationManager
           .authenticate(
               new UsernamePasswordAuthenticationToken(
                   employeeDto.getEmail(), employeeDto.getPassword()
               )
           );
-      return JwtTokenUtil.generateAccessToken(employeeDto.getEmail());
-    } catch (BadCredentialsException e) {
+      if (statelessAuthentication) {
+        EmployeePrincipal employee = (EmployeePrincipal) authentication.getPrincipal();
+        return jwtTokenUtil.generateAccessToken(employee.getId(), employee.getEmail(), employee.getUserType());
+      }
+      return jwtTokenUtil.generateAccessToken(employeeDto.getEmail());
+    } catch (BadCredentialsException | DisabledException e) {
       throw new UnAuthorizedException("Invalid email or password");
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * <p>
+   * Logs out an employee by revoking the token of the session until it expires
+   * </p>
+   *
+   * @param token jwt token of the session
+   * @throws UnAuthorizedException if the token is invalid or expired
+   */
+  public void deleteSession(String token) {
+    tokenRevocationService.revoke(jwtTokenUtil.verify(token));
+    logger.info("Session logged out");
+  }
+}
@@ -0,0 +1,227 @@
+package com.i2i.ems.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.i2i.ems.dto.HeadcountDto;
+import com.i2i.ems.helper.EmployeeException;
+import com.i2i.ems.repository.EmployeeRepository;
+import com.i2i.ems.util.DateUtil;
+import com.i2i.ems.util.HeadcountCounters;
+
+/**
+ * <p>
+ * Service class that reports the headcount of the active employees.
+ * </p>
+ * <p>
+ * Reads are answered by the in-memory {@link HeadcountCounters}, the write paths refresh
+ * the employees they change once the change is saved. A failed refresh is logged and does not
+ * fail the write. The counters are rebuilt from the database periodically, loading ranges
+ * of employee ids in parallel, and any drift from the rebuilt counts is logged.
+ * Employees changed while a rebuild runs are refreshed again once it is swapped in.
+ * </p>
+ */
+@Service
+public class HeadcountService {
+
+  private static final Logger logger = LogManager.getLogger(HeadcountService.class);
+  private static final int REFRESH_CHUNK_SIZE = 1000;
+
+  @Autowired
+  private EmployeeRepository employeeRepository;
+
+  @Autowired
+  private HeadcountCounters headcountCounters;
+
+  @Value("${ems.analytics.reconcile-threads:4}")
+  private int reconcileThreads;
+
+  @Value("${ems.analytics.reconcile-chunk-size:10000}")
+  private int reconcileChunkSize;
+
+  @Value("${ems.analytics.age-bands:25,35,45,55}")
+  private List<Integer> ageBands;
+
+  private volatile Set<Integer> changedDuringReconcile;
+
+  /**
+   * <p>
+   * Counts the active employees before the application starts serving.
+   * </p>
+   *
+   * @throws EmployeeException if the employees cannot be loaded
+   */
+  @PostConstruct
+  public void buildCounters() {
+    try {
+      rebuild();
+    } catch (Exception e) {
+      logger.error("Cannot build the headcount counters", e);
+      throw new EmployeeException("Cannot build the headcount counters", e);
+    }
+  }
+
+  /**
+   * <p>
+   * Rebuilds the counters from the database and logs how far they had drifted.
+   * A failed rebuild keeps the current counters.
+   * </p>
+   */
+  @Scheduled(fixedDelayString = "${ems.analytics.reconcile-interval:PT1H}",
+      initialDelayString = "${ems.analytics.reconcile-interval:PT1H}")
+  public void reconcile() {
+    try {
+      rebuild();
+    } catch (Exception e) {
+      logger.error("Cannot reconcile the headcount counters, keeping the current counts", e);
+    }
+  }
+
+  private synchronized void rebuild() {
+    long start = System.nanoTime();
+    changedDuringReconcile = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(reconcileThreads,
+        Thread.ofPlatform().name("headcount-", 0).daemon(true).factory());
+    try {
+      int maxId = employeeRepository.findMaxId();
+      List<CompletableFuture<Map<Integer, HeadcountCounters.Profile>>> chunks = new ArrayList<>();
+      for (int from = 1; from <= maxId; from += reconcileChunkSize) {
+        int chunkStart = from;
+        int to = (int) Math.min((long) from + reconcileChunkSize - 1, maxId);
+        chunks.add(CompletableFuture.supplyAsync(() ->
+            HeadcountCounters.profiles(employeeRepository.findProfileRowsBetween(chunkStart, to)), executor));
+      }
+      Map<Integer, HeadcountCounters.Profile> profiles = new HashMap<>();
+      for (CompletableFuture<Map<Integer, HeadcountCounters.Profile>> chunk : chunks) {
+        profiles.putAll(chunk.join());
+      }
+      Map<String, Long> drift = headcountCounters.reload(profiles);
+      if (drift.isEmpty()) {
+        logger.info("Counted headcount of {} employees in {} ms without drift",
+            profiles.size(), (System.nanoTime() - start) / 1_000_000);
+      } else {
+        logger.warn("Counted headcount of {} employees in {} ms, counters had drifted by {}",
+            profiles.size(), (System.nanoTime() - start) / 1_000_000, drift);
+      }
+    } finally {
+      executor.shutdown();
+      Set<Integer> changed = changedDuringReconcile;
+      changedDuringReconcile = null;
+      refreshEmployees(changed);
+    }
+  }
+
+  /**
+   * <p>
+   * Retrieves the headcount of the active employees, with their ages as of today.
+   * </p>
+   *
+   * @return {@link HeadcountDto} headcount in total and by each dimension
+   */
+  public HeadcountDto getHeadcount() {
+    logger.debug("Getting headcount");
+    return HeadcountDto.builder()
+        .headcount(headcountCounters.getHeadcount())
+        .byDepartment(headcountCounters.getDepartments())
+        .byDesignation(headcountCounters.getDesignations())
+        .byLevel(headcountCounters.getLevels())
+        .bySkillCategory(headcountCounters.getSkillCategories())
+        .byAgeBand(headcountCounters.getAgeBands(DateUtil.today(), ageBands))
+        .build();
+  }
+
+  /**
+   * <p>
+   * Recounts the employees with the given ids from their saved details.
+   * Many employees are reloaded a chunk of ids at a time.
+   * </p>
+   *
+   * @param ids ids of the employees changed
+   */
+  public void refreshEmployees(Collection<Integer> ids) {
+    Set<Integer> changed = changedDuringReconcile;
+    if (null != changed) {
+      changed.addAll(ids);
+    }
+    List<Integer> idList = List.copyOf(ids);
+    for (int from = 0; from < idList.size(); from += REFRESH_CHUNK_SIZE) {
+      List<Integer> chunk = idList.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, idList.size()));
+      try {
+        headcountCounters.replace(chunk,
+            HeadcountCounters.profiles(employeeRepository.findProfileRowsByIdIn(chunk)));
+      } catch (Exception e) {
+        logger.error("Cannot refresh headcount of employees {}", chunk, e);
+      }
+    }
+  }
+
+  /**
+   * <p>
+   * Counts the employees with the given emails, which have just been inserted.
+   * </p>
+   *
+   * @param emails emails of the employees inserted
+   */
+  public void refreshEmployeesByEmail(Collection<String> emails) {
+    if (emails.isEmpty()) {
+      return;
+    }
+    try {
+      Map<Integer, HeadcountCounters.Profile> profiles =
+          HeadcountCounters.profiles(employeeRepository.findProfileRowsByEmailIn(emails));
+      Set<Integer> changed = changedDuringReconcile;
+      if (null != changed) {
+        changed.addAll(profiles.keySet());
+      }
+      headcountCounters.replace(profiles.keySet(), profiles);
+    } catch (Exception e) {
+      logger.error("Cannot count headcount of {} employees", emails.size(), e);
+    }
+  }
+
+  /**
+   * <p>
+   * Recounts the employees who have the given skill, after it is changed.
+   * </p>
+   *
+   * @param skillId id of the skill changed
+   */
+  public void refreshSkill(int skillId) {
+    try {
+      refreshEmployees(employeeRepository.findIdsBySkillId(skillId));
+    } catch (Exception e) {
+      logger.error("Cannot refresh headcount of employees of skill {}", skillId, e);
+    }
+  }
+
+  /**
+   * <p>
+   * Recounts the employees who have the given role, after it is changed.
+   * </p>
+   *
+   * @param roleId id of the role changed
+   */
+  public void refreshRole(int roleId) {
+    try {
+      refreshEmployees(employeeRepository.findIdsByRoleId(roleId));
+    } catch (Exception e) {
+      logger.error("Cannot refresh headcount of employees of role {}", roleId, e);
+    }
+  }
+}
@@ -11,6 +11,7 @@ import com.i2i.ems.dto.RoleDto;
 import com.i2i.ems.helper.EmployeeException;
 import com.i2i.ems.mapper.RoleMapper;
 import com.i2i.ems.model.Employee;
+import com.i2i.ems.model.EmployeeVersions;
 import com.i2i.ems.model.Role;
 import com.i2i.ems.repository.RoleRepository;
 
@@ -30,6 +31,12 @@ public class RoleService {
   @Autowired
   private EmployeeService employeeService;
 
+  @Autowired
+  private EmployeeSearchService employeeSearchService;
+
+  @Autowired
+  private HeadcountService headcountService;
+
   /**
    * <p>
    * Saving account details
@@ -82,6 +89,8 @@ public class RoleService {
       Role role = getRole(id);
       role.setIsDeleted(true);
       saveRole(role);
+      employeeSearchService.reindexRole(id);
+      headcountService.refreshRole(id);
       logger.info("Role {} deleted", id);
     } catch (Exception e) {
       logger.error(e);
@@ -107,6 +116,19 @@ public class RoleService {
     }
   }
 
+  /**
+   * <p>
+   * Entity tag of the role of the given employee, from its version
+   * </p>
+   *
+   * @param employeeId employee whose role is tagged
+   * @return String entity tag of the role, null if the employee or their role is not found
+   */
+  public String getEmployeeRoleTag(int employeeId) {
+    EmployeeVersions versions = employeeService.getEmployeeVersions(employeeId);
+    return null == versions || null == versions.getRoleId() ? null : versions.roleTag();
+  }
+
   /**
    * <p>
    * Role of the given employee
@@ -119,7 +141,7 @@ public class RoleService {
     logger.debug("Getting role {} of an employee ", employeeId);
     Role role;
     try {
-      role = employeeService.getEmployeeById(employeeId).getRole();
+      role = employeeService.getEmployeeWithRoleById(employeeId).getRole();
       if (null == role) {
         throw new NoSuchElementException("Role for employee " + employeeId + " not found");
       }
@@ -0,0 +1,341 @@
+package com.i2i.ems.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.i2i.ems.dto.BulkSkillAssignmentDto;
+import com.i2i.ems.dto.SkillAssignmentDto;
+import com.i2i.ems.dto.SkillAssignmentReport;
+import com.i2i.ems.dto.SkillDto;
+import com.i2i.ems.helper.EmployeeException;
+import com.i2i.ems.model.Employee;
+import com.i2i.ems.model.Skill;
+import com.i2i.ems.model.SkillAssignment;
+import com.i2i.ems.repository.EmployeeRepository;
+import com.i2i.ems.repository.SkillRepository;
+import com.i2i.ems.util.SkillBitmapIndex;
+
+/**
+ * <p>
+ * Service class that assigns skills to and removes skills from many employees at once.
+ * </p>
+ * <p>
+ * Skills are resolved by name with one query, and the skills assigned that do not exist yet
+ * are created together. Employees are only checked to be active, they are never loaded.
+ * The rows of the employee_skill table are written with JDBC batch statements, one transaction
+ * per batch of pairs, removals first. Inserts rely on the unique key of the table to skip
+ * pairs already assigned. The versions of the employees whose skills change are incremented
+ * along with their rows, and their cached skills are evicted once the batch is committed.
+ * The skill index, the search index and the headcount are updated once for all the pairs written.
+ * </p>
+ */
+@Service
+public class SkillAssignmentService {
+
+  private static final Logger logger = LogManager.getLogger(SkillAssignmentService.class);
+  private static final String EMPLOYEE_SKILLS = Employee.class.getName() + ".skills";
+  /**
+   * <p>
+   * Pairs already assigned are skipped by the unique key of the table, also when another writer
+   * inserts them concurrently. The row is selected rather than given as values, since the driver
+   * rewrites batches of inserts with values into one statement that reports no count per row.
+   * </p>
+   */
+  private static final String INSERT_EMPLOYEE_SKILL = "INSERT IGNORE INTO employee_skill (employee_id, skill_id) "
+      + "SELECT ?, ?";
+  private static final String DELETE_EMPLOYEE_SKILL = "DELETE FROM employee_skill "
+      + "WHERE employee_id = ? AND skill_id = ?";
+  private static final String INCREMENT_VERSION = "UPDATE employee SET version = version + 1 WHERE id = ?";
+
+  @Autowired
+  private SkillRepository skillRepository;
+
+  @Autowired
+  private EmployeeRepository employeeRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private SkillBitmapIndex skillBitmapIndex;
+
+  @Autowired
+  private EmployeeSearchService employeeSearchService;
+
+  @Autowired
+  private HeadcountService headcountService;
+
+  @Autowired
+  private SkillCatalogService skillCatalogService;
+
+  @Value("${ems.skills.assignment.batch-size:1000}")
+  private int batchSize;
+
+  /**
+   * <p>
+   * A skill of an employee, ordered by employee so batches lock the rows of few employees.
+   * </p>
+   */
+  private record Pair(int employeeId, int skillId) {
+    private static final Comparator<Pair> ORDER = Comparator.comparingInt(Pair::employeeId)
+        .thenComparingInt(Pair::skillId);
+  }
+
+  /**
+   * <p>
+   * Assigns and removes the skills of the employees.
+   * A pair both removed and assigned ends up assigned.
+   * </p>
+   *
+   * @param assignment skills to be assigned and removed, along with the details of new skills
+   * @return {@link SkillAssignmentReport} number of pairs written and skills created,
+   *         along with the employees and skills not found
+   * @throws IllegalArgumentException if the name of a skill is missing
+   * @throws EmployeeException        if the skills cannot be written
+   */
+  public SkillAssignmentReport assignSkills(BulkSkillAssignmentDto assignment) {
+    List<SkillAssignmentDto> assign = null == assignment.getAssign() ? List.of() : assignment.getAssign();
+    List<SkillAssignmentDto> remove = null == assignment.getRemove() ? List.of() : assignment.getRemove();
+    for (SkillAssignmentDto pair : assign) {
+      requireName(pair.getSkill());
+    }
+    for (SkillAssignmentDto pair : remove) {
+      requireName(pair.getSkill());
+    }
+    logger.debug("Assigning {} and removing {} skills of employees", assign.size(), remove.size());
+    Set<String> names = new HashSet<>();
+    Set<Integer> employeeIds = new HashSet<>();
+    assign.forEach(pair -> {
+      names.add(pair.getSkill().trim());
+      employeeIds.add(pair.getEmployeeId());
+    });
+    remove.forEach(pair -> {
+      names.add(pair.getSkill().trim());
+      employeeIds.add(pair.getEmployeeId());
+    });
+    List<SkillAssignment> added = new ArrayList<>();
+    List<SkillAssignment> removed = new ArrayList<>();
+    Set<Integer> changedEmployees = new HashSet<>();
+    int createdSkills = 0;
+    try {
+      Map<String, Skill> skills = findSkills(names);
+      createdSkills = createSkills(assign, assignment.getSkills(), skills);
+      Set<Integer> activeEmployees = findActiveEmployees(employeeIds);
+      Set<Integer> missingEmployees = new TreeSet<>();
+      Set<String> missingSkills = new TreeSet<>();
+      List<Pair> removals = pairs(remove, skills, activeEmployees, missingEmployees, missingSkills);
+      List<Pair> assignments = pairs(assign, skills, activeEmployees, missingEmployees, missingSkills);
+      int removedCount = write(DELETE_EMPLOYEE_SKILL,
+          pair -> new Object[]{pair.employeeId(), pair.skillId()}, removals, removed, changedEmployees);
+      int assignedCount = write(INSERT_EMPLOYEE_SKILL,
+          pair -> new Object[]{pair.employeeId(), pair.skillId()}, assignments, added, changedEmployees);
+      logger.info("Assigned {} and removed {} skills of {} employees, {} skills created",
+          assignedCount, removedCount, changedEmployees.size(), createdSkills);
+      return SkillAssignmentReport.builder()
+          .assigned(assignedCount)
+          .removed(removedCount)
+          .createdSkills(createdSkills)
+          .missingEmployees(new ArrayList<>(missingEmployees))
+          .missingSkills(new ArrayList<>(missingSkills))
+          .build();
+    } catch (Exception e) {
+      logger.error("Cannot assign skills, {} pairs were assigned and {} removed", added.size(), removed.size(), e);
+      throw new EmployeeException("Cannot assign skills, " + added.size() + " pairs were assigned and "
+          + removed.size() + " removed", e);
+    } finally {
+      refresh(added, removed, changedEmployees, createdSkills);
+    }
+  }
+
+  /**
+   * <p>
+   * Finds the skills by their names, keeping the first skill of each name.
+   * </p>
+   */
+  private Map<String, Skill> findSkills(Collection<String> names) {
+    Map<String, Skill> skills = new HashMap<>();
+    List<String> nameList = List.copyOf(names);
+    for (int from = 0; from < nameList.size(); from += batchSize) {
+      List<String> chunk = nameList.subList(from, Math.min(from + batchSize, nameList.size()));
+      for (Skill skill : skillRepository.findByNameInOrderById(chunk)) {
+        skills.putIfAbsent(normalize(skill.getName()), skill);
+      }
+    }
+    return skills;
+  }
+
+  /**
+   * <p>
+   * Creates the skills assigned that do not exist yet, with the details given for them if any.
+   * The skills are saved through the repository, so the cached lookups by name see them.
+   * </p>
+   *
+   * @return int number of skills created
+   */
+  private int createSkills(List<SkillAssignmentDto> assign, List<SkillDto> details, Map<String, Skill> skills) {
+    Map<String, SkillDto> detailsByName = new HashMap<>();
+    if (null != details) {
+      for (SkillDto skill : details) {
+        if (null != skill.getName() && !skill.getName().isBlank()) {
+          detailsByName.putIfAbsent(normalize(skill.getName()), skill);
+        }
+      }
+    }
+    Map<String, Skill> created = new LinkedHashMap<>();
+    for (SkillAssignmentDto pair : assign) {
+      String name = normalize(pair.getSkill());
+      if (!skills.containsKey(name) && !created.containsKey(name)) {
+        SkillDto skill = detailsByName.get(name);
+        created.put(name, Skill.builder()
+            .name(pair.getSkill().trim())
+            .category(null == skill ? null : skill.getCategory())
+            .institute(null == skill ? null : skill.getInstitute())
+            .isDeleted(false)
+            .build());
+      }
+    }
+    if (created.isEmpty()) {
+      return 0;
+    }
+    for (Skill skill : skillRepository.saveAll(created.values())) {
+      skills.put(normalize(skill.getName()), skill);
+    }
+    return created.size();
+  }
+
+  private Set<Integer> findActiveEmployees(Collection<Integer> ids) {
+    Set<Integer> activeIds = new HashSet<>();
+    List<Integer> idList = List.copyOf(ids);
+    for (int from = 0; from < idList.size(); from += batchSize) {
+      activeIds.addAll(employeeRepository.findActiveIds(idList.subList(from, Math.min(from + batchSize, idList.size()))));
+    }
+    return activeIds;
+  }
+
+  /**
+   * <p>
+   * Resolves the pairs into ids, leaving out repeated pairs and those whose employee
+   * or skill is not found, in employee order.
+   * </p>
+   */
+  private static List<Pair> pairs(List<SkillAssignmentDto> assignments, Map<String, Skill> skills,
+                                  Set<Integer> activeEmployees, Set<Integer> missingEmployees,
+                                  Set<String> missingSkills) {
+    Set<Pair> pairs = new LinkedHashSet<>();
+    for (SkillAssignmentDto assignment : assignments) {
+      Skill skill = skills.get(normalize(assignment.getSkill()));
+      if (!activeEmployees.contains(assignment.getEmployeeId())) {
+        missingEmployees.add(assignment.getEmployeeId());
+      } else if (null == skill) {
+        missingSkills.add(assignment.getSkill().trim());
+      } else {
+        pairs.add(new Pair(assignment.getEmployeeId(), skill.getId()));
+      }
+    }
+    List<Pair> sorted = new ArrayList<>(pairs);
+    sorted.sort(Pair.ORDER);
+    return sorted;
+  }
+
+  /**
+   * <p>
+   * Writes the pairs a batch at a time, each batch in one transaction along with the versions
+   * of the employees whose rows changed. Pairs whose row is already as requested are skipped,
+   * only the rows the database reports as changed are counted.
+   * The cached skills of the changed employees are evicted once the batch is committed.
+   * </p>
+   *
+   * @return int number of rows changed
+   */
+  private int write(String sql, Function<Pair, Object[]> binder, List<Pair> pairs,
+                    List<SkillAssignment> written, Set<Integer> changedEmployees) {
+    Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    int changed = 0;
+    for (int from = 0; from < pairs.size(); from += batchSize) {
+      List<Pair> batch = pairs.subList(from, Math.min(from + batchSize, pairs.size()));
+      List<Pair> changedPairs = transactionTemplate.execute(status -> {
+        int[] counts = jdbcTemplate.batchUpdate(sql, batch.stream().map(binder).toList());
+        List<Pair> rows = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+          if (counts[i] > 0) {
+            rows.add(batch.get(i));
+          }
+        }
+        jdbcTemplate.batchUpdate(INCREMENT_VERSION, rows.stream()
+            .map(Pair::employeeId)
+            .distinct()
+            .map(id -> new Object[]{id})
+            .toList());
+        return rows;
+      });
+      for (Pair pair : changedPairs) {
+        written.add(new SkillAssignment(pair.skillId(), pair.employeeId()));
+        if (changedEmployees.add(pair.employeeId())) {
+          cache.evictCollectionData(EMPLOYEE_SKILLS, pair.employeeId());
+        }
+      }
+      changed += changedPairs.size();
+    }
+    return changed;
+  }
+
+  /**
+   * <p>
+   * Brings the skill index, search index, headcount and skill catalog up to date
+   * with the pairs written, even if a later batch failed.
+   * </p>
+   */
+  private void refresh(List<SkillAssignment> added, List<SkillAssignment> removed,
+                       Set<Integer> changedEmployees, int createdSkills) {
+    skillBitmapIndex.update(added, removed);
+    employeeSearchService.reindexEmployees(changedEmployees);
+    headcountService.refreshEmployees(changedEmployees);
+    if (createdSkills > 0) {
+      skillCatalogService.refreshCatalog();
+    }
+  }
+
+  private static void requireName(String skill) {
+    if (null == skill || skill.isBlank()) {
+      throw new IllegalArgumentException("Name of the skill is required");
+    }
+  }
+
+  /**
+   * <p>
+   * Normalizes the name of a skill to match it like the database does,
+   * ignoring the case and surrounding spaces.
+   * </p>
+   */
+  private static String normalize(String name) {
+    return name.trim().toLowerCase(Locale.ROOT);
+  }
+}
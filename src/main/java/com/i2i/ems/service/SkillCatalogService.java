@@ -0,0 +1,147 @@
+package com.i2i.ems.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.i2i.ems.dto.SkillDto;
+import com.i2i.ems.helper.EmployeeException;
+import com.i2i.ems.mapper.SkillMapper;
+import com.i2i.ems.model.Skill;
+import com.i2i.ems.model.SkillCatalogRow;
+import com.i2i.ems.repository.SkillRepository;
+import com.i2i.ems.util.SkillCatalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <p>
+ * Service class that serves the catalog of the active skills.
+ * </p>
+ * <p>
+ * The catalog is answered by the in-memory {@link SkillCatalog}, built before the application
+ * starts serving and rebuilt by the write paths that create, change or delete a skill, once the
+ * change is saved. A failed rebuild is logged and does not fail the write, the previous catalog
+ * is served until the next rebuild. The skills changed on other nodes are picked up by checking
+ * the summed up versions of the skills periodically, the catalog is rebuilt when they differ.
+ * </p>
+ */
+@Service
+public class SkillCatalogService {
+
+  private static final Logger logger = LogManager.getLogger(SkillCatalogService.class);
+
+  @Autowired
+  private SkillRepository skillRepository;
+
+  @Autowired
+  private SkillCatalog skillCatalog;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  /**
+   * <p>
+   * Builds the catalog from the active skills.
+   * </p>
+   *
+   * @throws EmployeeException if the skills cannot be loaded
+   */
+  @PostConstruct
+  public void buildCatalog() {
+    try {
+      rebuild();
+    } catch (Exception e) {
+      logger.error("Cannot build the skill catalog", e);
+      throw new EmployeeException("Cannot build the skill catalog", e);
+    }
+  }
+
+  /**
+   * <p>
+   * Current catalog of the active skills.
+   * </p>
+   *
+   * @return {@link SkillCatalog.Snapshot} skills along with their JSON and entity tag
+   */
+  public SkillCatalog.Snapshot getCatalog() {
+    return skillCatalog.getSnapshot();
+  }
+
+  /**
+   * <p>
+   * Rebuilds the catalog after a skill is created, changed or deleted.
+   * </p>
+   */
+  public void refreshCatalog() {
+    try {
+      rebuild();
+    } catch (Exception e) {
+      logger.error("Cannot rebuild the skill catalog", e);
+    }
+  }
+
+  /**
+   * <p>
+   * Rebuilds the catalog if the active skills no longer add up to the skills in it,
+   * which is the case when skills were created, changed or deleted on another node.
+   * A failed check keeps the current catalog.
+   * </p>
+   */
+  @Scheduled(fixedDelayString = "${ems.skills.catalog.check-interval:PT30S}",
+      initialDelayString = "${ems.skills.catalog.check-interval:PT30S}")
+  public void checkCatalog() {
+    try {
+      if (!skillCatalog.isCurrent(skillRepository.findCatalogVersion())) {
+        logger.info("Skill catalog is out of date, rebuilding it");
+        rebuild();
+      }
+    } catch (Exception e) {
+      logger.error("Cannot check the skill catalog, keeping the current catalog", e);
+    }
+  }
+
+  /**
+   * <p>
+   * Rebuilds the catalog if any of the saved skills is not in it as saved,
+   * which is the case when they were created or changed along with an employee.
+   * </p>
+   *
+   * @param skills skills just saved
+   */
+  public void refreshSkills(Collection<Skill> skills) {
+    if (null != skills && !skillCatalog.isCurrent(skills)) {
+      refreshCatalog();
+    }
+  }
+
+  private synchronized void rebuild() throws Exception {
+    long start = System.nanoTime();
+    List<SkillDto> skills = new ArrayList<>();
+    Map<Integer, Integer> versions = new HashMap<>();
+    transactionTemplate.executeWithoutResult(status -> {
+      try (Stream<SkillCatalogRow> rows = skillRepository.streamCatalogRows()) {
+        rows.forEach(row -> {
+          skills.add(SkillMapper.catalogRowToDto(row));
+          versions.put(row.getId(), row.getVersion());
+        });
+      }
+    });
+    skillCatalog.replace(skills, versions, objectMapper.writeValueAsBytes(skills));
+    logger.info("Built the catalog of {} skills in {} ms", skills.size(), (System.nanoTime() - start) / 1_000_000);
+  }
+}
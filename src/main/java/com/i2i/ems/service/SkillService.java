@@ -1,17 +1,39 @@
 package com.i2i.ems.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.i2i.ems.dto.EmployeeDto;
 import com.i2i.ems.dto.SkillDto;
+import com.i2i.ems.helper.EmployeeException;
+import com.i2i.ems.mapper.EmployeeMapper;
 import com.i2i.ems.mapper.SkillMapper;
 import com.i2i.ems.model.Employee;
+import com.i2i.ems.model.EmployeeVersions;
 import com.i2i.ems.model.Skill;
+import com.i2i.ems.model.SkillAssignment;
+import com.i2i.ems.repository.EmployeeRepository;
 import com.i2i.ems.repository.SkillRepository;
+import com.i2i.ems.util.SkillBitmapIndex;
 
 import lombok.NonNull;
 
@@ -19,23 +41,162 @@ import lombok.NonNull;
  * <p>
  * Service class that handles business logic related to skills
  * </p>
+ * <p>
+ * The employees having each skill are kept in the {@link SkillBitmapIndex}, built when the
+ * application starts and updated as skills are added to and removed from employees,
+ * and as skills are deleted. As only the changes made on this node are applied, the index
+ * is rebuilt from the database periodically.
+ * The catalog of all the skills is served by the {@link SkillCatalogService}.
+ * </p>
  */
 @Service
 public class SkillService {
 
+  private static final Logger logger = LogManager.getLogger(SkillService.class);
+  private static final int REFRESH_CHUNK_SIZE = 1000;
+
   @Autowired
   private SkillRepository skillRepository;
 
+  @Autowired
+  private EmployeeRepository employeeRepository;
+
+  @Autowired
+  private SkillBitmapIndex skillBitmapIndex;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Value("${ems.employees.max-page-size:100}")
+  private int maxPageSize;
+
   @Autowired
   private EmployeeService employeeService;
 
+  @Autowired
+  private EmployeeSearchService employeeSearchService;
+
+  @Autowired
+  private HeadcountService headcountService;
+
+  @Autowired
+  private SkillCatalogService skillCatalogService;
+
   public Skill saveSkill(Skill skill) {
     return skillRepository.save(skill);
   }
 
+  /**
+   * <p>
+   * Builds the skill index from the active skills of the active employees.
+   * </p>
+   *
+   * @throws EmployeeException if the skills cannot be loaded
+   */
+  @PostConstruct
+  public void buildSkillIndex() {
+    try {
+      rebuildSkillIndex();
+    } catch (Exception e) {
+      logger.error("Cannot build the skill index", e);
+      throw new EmployeeException("Cannot build the skill index", e);
+    }
+  }
+
+  /**
+   * <p>
+   * Rebuilds the skill index from the database, picking up the changes made on other nodes.
+   * A failed rebuild keeps the current index.
+   * </p>
+   */
+  @Scheduled(fixedDelayString = "${ems.skills.index.reconcile-interval:PT1H}",
+      initialDelayString = "${ems.skills.index.reconcile-interval:PT1H}")
+  public void reconcileSkillIndex() {
+    try {
+      rebuildSkillIndex();
+    } catch (Exception e) {
+      logger.error("Cannot reconcile the skill index, keeping the current index", e);
+    }
+  }
+
+  private synchronized void rebuildSkillIndex() {
+    long start = System.nanoTime();
+    Map<Integer, RoaringBitmap> bitmaps = new HashMap<>();
+    skillBitmapIndex.startLoad();
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        try (Stream<SkillAssignment> assignments = employeeRepository.streamSkillAssignments()) {
+          assignments.forEach(assignment -> bitmaps
+              .computeIfAbsent(assignment.getSkillId(), skillId -> new RoaringBitmap())
+              .add(assignment.getEmployeeId()));
+        }
+      });
+    } catch (RuntimeException e) {
+      skillBitmapIndex.cancelLoad();
+      throw e;
+    }
+    Set<Integer> changed = skillBitmapIndex.load(bitmaps);
+    logger.info("Indexed employees of {} skills in {} ms", bitmaps.size(), (System.nanoTime() - start) / 1_000_000);
+    refreshEmployees(changed);
+  }
+
+  private void refreshEmployees(Set<Integer> ids) {
+    List<Integer> idList = List.copyOf(ids);
+    for (int from = 0; from < idList.size(); from += REFRESH_CHUNK_SIZE) {
+      List<Integer> chunk = idList.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, idList.size()));
+      try {
+        Map<Integer, List<Integer>> skillIds = new HashMap<>();
+        chunk.forEach(id -> skillIds.put(id, new ArrayList<>()));
+        employeeRepository.findSkillAssignmentsByEmployeeIdIn(chunk)
+            .forEach(assignment -> skillIds.get(assignment.getEmployeeId()).add(assignment.getSkillId()));
+        skillIds.forEach(skillBitmapIndex::replace);
+      } catch (Exception e) {
+        logger.error("Cannot refresh skills of employees {} in the skill index", chunk, e);
+      }
+    }
+  }
+
+  /**
+   * <p>
+   * Get the employees having all of, any of and none of the given skills, in id order.
+   * The size is capped to the maximum page size.
+   * </p>
+   *
+   * @param allOf  ids of the skills every employee has
+   * @param anyOf  ids of the skills of which every employee has at least one
+   * @param noneOf ids of the skills no employee has
+   * @param page   page number
+   * @param size   number of employees per page
+   * @return {@link Page<EmployeeDto>} employees of the page along with the number of matching employees
+   * @throws IllegalArgumentException if no skills to have are given or the page is invalid
+   * @throws EmployeeException        if the employees cannot be retrieved
+   */
+  public Page<EmployeeDto> getEmployeesWithSkills(List<Integer> allOf, List<Integer> anyOf, List<Integer> noneOf,
+                                                  int page, int size) {
+    if (page < 0 || size < 1) {
+      throw new IllegalArgumentException("Page must not be negative and size must be positive");
+    }
+    size = Math.min(size, maxPageSize);
+    RoaringBitmap employees = skillBitmapIndex.query(allOf, anyOf, noneOf);
+    List<Integer> ids = SkillBitmapIndex.page(employees, (long) page * size, size);
+    List<EmployeeDto> content;
+    try {
+      content = ids.isEmpty() ? List.of() : employeeRepository.findSummariesByIdIn(ids).stream()
+          .map(EmployeeMapper::summaryToDto)
+          .collect(Collectors.toList());
+      logger.info("Returning {} of {} employees with skills", content.size(), employees.getLongCardinality());
+    } catch (Exception e) {
+      logger.error("Cannot get employees with skills", e);
+      throw new EmployeeException("Cannot get employees with skills", e);
+    }
+    return new PageImpl<>(content, PageRequest.of(page, size), employees.getLongCardinality());
+  }
+
   /**
    * <p>
    * Add a skill to an employee
+   * A skill that does not exist yet is saved first. A skill the employee already has is
+   * returned as it is, without being added again.
    * </p>
    *
    * @param skillDto   Details of the skill to be added
@@ -43,27 +204,34 @@ public class SkillService {
    * @return {@link SkillDto} Details of the skill added
    */
   public SkillDto addSkill(SkillDto skillDto, int employeeId) {
-    Skill skill = SkillMapper.dtoToModel(skillDto);
-    if (skillRepository.existsByName(skillDto.getName())) {
-      skill = skillRepository.findByName(skillDto.getName());
+    Employee employee = employeeService.getEmployeeWithSkillsById(employeeId);
+    Skill skill = skillRepository.findByName(skillDto.getName());
+    if (null == skill) {
+      skill = saveSkill(SkillMapper.dtoToModel(skillDto));
+      skillCatalogService.refreshCatalog();
+    }
+    int skillId = skill.getId();
+    if (employee.getSkills().stream().anyMatch(assigned -> assigned.getId() == skillId)) {
+      logger.info("Employee {} already has skill {}", employeeId, skillId);
+      return SkillMapper.modelToDto(skill);
     }
-    Employee employee = employeeService.getEmployeeById(employeeId);
     employee.getSkills().add(skill);
     employeeService.saveEmployee(employee);
+    skillBitmapIndex.add(skillId, employeeId);
     return SkillMapper.modelToDto(skill);
   }
 
   /**
    * <p>
-   * Get all skills
+   * Gets the entity tag of the skills of an employee from their versions
    * </p>
    *
-   * @return {@link List<SkillDto>} List of all skills
+   * @param employeeId id of the employee whose skills are tagged
+   * @return String entity tag of the skills, null if the employee is not found
    */
-  public List<SkillDto> getAllSkills() {
-    return skillRepository.findAll().stream()
-        .map(SkillMapper::modelToDto)
-        .collect(Collectors.toList());
+  public String getEmployeeSkillsTag(int employeeId) {
+    EmployeeVersions versions = employeeService.getEmployeeVersions(employeeId);
+    return null == versions ? null : versions.skillsTag();
   }
 
   /**
@@ -87,7 +255,7 @@ public class SkillService {
    * @return {@link List<SkillDto>} List of all skills of the employee
    */
   public List<SkillDto> getEmployeeSkills(int employeeId) {
-    Employee employee = employeeService.getEmployeeById(employeeId);
+    Employee employee = employeeService.getEmployeeWithSkillsById(employeeId);
     return employee.getSkills().stream()
         .map(SkillMapper::modelToDto)
         .collect(Collectors.toList());
@@ -106,8 +274,19 @@ public class SkillService {
     if (skill == null) {
       throw new NoSuchElementException("Skill not found");
     }
-    skill = SkillMapper.dtoToModel(skillDto);
-    return SkillMapper.modelToDto(saveSkill(skill));
+    boolean wasDeleted = Boolean.TRUE.equals(skill.getIsDeleted());
+    Skill updatedSkill = SkillMapper.dtoToModel(skillDto);
+    updatedSkill.setVersion(skill.getVersion());
+    skill = saveSkill(updatedSkill);
+    if (Boolean.TRUE.equals(skill.getIsDeleted())) {
+      skillBitmapIndex.removeSkill(skill.getId());
+    } else if (wasDeleted) {
+      skillBitmapIndex.replaceSkill(skill.getId(), employeeRepository.findIdsBySkillId(skill.getId()));
+    }
+    employeeSearchService.reindexSkill(skill.getId());
+    headcountService.refreshSkill(skill.getId());
+    skillCatalogService.refreshCatalog();
+    return SkillMapper.modelToDto(skill);
   }
 
   /**
@@ -118,7 +297,7 @@ public class SkillService {
    * @param employeeId id of the employee whose skill is to be deleted
    */
   public void deleteSkill(int employeeId) {
-    Employee employee = employeeService.getEmployeeById(employeeId);
+    Employee employee = employeeService.getEmployeeWithSkillsById(employeeId);
     if (null == employee) {
       throw new NoSuchElementException("Employee " + employeeId + " not found");
     }
@@ -127,6 +306,7 @@ public class SkillService {
     }
     employee.setSkills(null);
     employeeService.saveEmployee(employee);
+    skillBitmapIndex.removeEmployee(employeeId);
   }
 
   /**
@@ -142,7 +322,7 @@ public class SkillService {
     if (skill == null) {
       throw new NoSuchElementException("Skill not found");
     }
-    Employee employee = employeeService.getEmployeeById(employeeId);
+    Employee employee = employeeService.getEmployeeWithSkillsById(employeeId);
     employee.setSkills(
         employee.getSkills()
             .stream()
@@ -150,5 +330,6 @@ public class SkillService {
             .collect(Collectors.toList())
     );
     employeeService.saveEmployee(employee);
+    skillBitmapIndex.replace(employeeId, employee.getSkills().stream().map(Skill::getId).toList());
   }
 }
@@ -0,0 +1,160 @@
+package com.i2i.ems.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.jsonwebtoken.Claims;
+
+import com.i2i.ems.helper.EmployeeException;
+import com.i2i.ems.model.TokenRevocation;
+import com.i2i.ems.repository.TokenRevocationRepository;
+import com.i2i.ems.util.JwtTokenUtil;
+import com.i2i.ems.util.TokenRevocationList;
+
+/**
+ * <p>
+ * Service class that shares token revocations between the instances of the application.
+ * </p>
+ * <p>
+ * A revocation is applied to the {@link TokenRevocationList} of this instance at once and saved,
+ * and every instance applies the revocations saved by the others on a schedule,
+ * so a logout or a deletion takes effect everywhere within the sync interval.
+ * Each sync reads again the revocations of the overlap before the previous sync,
+ * to pick up revocations committed late or stamped by a clock running behind.
+ * Applying a revocation twice has no effect.
+ * </p>
+ */
+@Service
+public class TokenRevocationService {
+
+  private static final Logger logger = LogManager.getLogger(TokenRevocationService.class);
+
+  @Autowired
+  private TokenRevocationList tokenRevocationList;
+
+  @Autowired
+  private TokenRevocationRepository tokenRevocationRepository;
+
+  @Value("${ems.jwt.revocation.sync-overlap:PT1M}")
+  private Duration syncOverlap;
+
+  private volatile Instant syncedAt = Instant.EPOCH;
+
+  /**
+   * <p>
+   * Applies the revocations of the tokens that have not expired yet.
+   * </p>
+   *
+   * @throws EmployeeException if the revocations cannot be loaded
+   */
+  @PostConstruct
+  public void init() {
+    try {
+      syncRevocations();
+    } catch (Exception e) {
+      logger.error("Cannot load the token revocations", e);
+      throw new EmployeeException("Cannot load the token revocations", e);
+    }
+  }
+
+  /**
+   * <p>
+   * Revokes the token with the given claims until it expires, on every instance.
+   * </p>
+   *
+   * @param claims claims of a verified token
+   * @throws EmployeeException if the revocation cannot be saved
+   */
+  public void revoke(Claims claims) {
+    tokenRevocationList.revoke(claims);
+    save(TokenRevocation.builder()
+        .tokenId(claims.getId())
+        .revokedAt(new Date())
+        .expiresAt(claims.getExpiration())
+        .build());
+  }
+
+  /**
+   * <p>
+   * Revokes every token of the subject issued until now, on every instance.
+   * </p>
+   *
+   * @param subject subject whose tokens are revoked, which is the email of the employee
+   * @throws EmployeeException if the revocation cannot be saved
+   */
+  public void revokeSubject(String subject) {
+    Date revokedAt = new Date();
+    tokenRevocationList.revokeSubject(subject, revokedAt);
+    save(TokenRevocation.builder()
+        .subject(subject)
+        .revokedAt(revokedAt)
+        .expiresAt(new Date(revokedAt.getTime() + JwtTokenUtil.JWT_TOKEN_VALIDITY))
+        .build());
+  }
+
+  /**
+   * <p>
+   * Applies the revocations saved by the other instances since the previous sync.
+   * A failed sync is retried with the next one.
+   * </p>
+   */
+  @Scheduled(fixedDelayString = "${ems.jwt.revocation.sync-interval:PT5S}",
+      initialDelayString = "${ems.jwt.revocation.sync-interval:PT5S}")
+  public void sync() {
+    try {
+      syncRevocations();
+    } catch (Exception e) {
+      logger.error("Cannot sync the token revocations", e);
+    }
+  }
+
+  /**
+   * <p>
+   * Deletes the revocations whose tokens have expired.
+   * </p>
+   */
+  @Scheduled(fixedRate = JwtTokenUtil.JWT_TOKEN_VALIDITY, initialDelay = JwtTokenUtil.JWT_TOKEN_VALIDITY)
+  public void purge() {
+    try {
+      logger.info("Deleted {} expired token revocations", tokenRevocationRepository.deleteExpired(new Date()));
+    } catch (Exception e) {
+      logger.error("Cannot delete the expired token revocations", e);
+    }
+  }
+
+  private void syncRevocations() {
+    Instant now = Instant.now();
+    Date since = Date.from(Instant.EPOCH.equals(syncedAt) ? Instant.EPOCH : syncedAt.minus(syncOverlap));
+    List<TokenRevocation> revocations =
+        tokenRevocationRepository.findByRevokedAtAfterAndExpiresAtAfter(since, Date.from(now));
+    for (TokenRevocation revocation : revocations) {
+      if (null != revocation.getTokenId()) {
+        tokenRevocationList.revoke(revocation.getTokenId(), revocation.getExpiresAt());
+      }
+      if (null != revocation.getSubject()) {
+        tokenRevocationList.revokeSubject(revocation.getSubject(), revocation.getRevokedAt());
+      }
+    }
+    syncedAt = now;
+    logger.debug("Applied {} token revocations", revocations.size());
+  }
+
+  private void save(TokenRevocation revocation) {
+    try {
+      tokenRevocationRepository.save(revocation);
+    } catch (Exception e) {
+      logger.error("Cannot share the token revocation, it only applies to this instance", e);
+      throw new EmployeeException("Cannot share the token revocation", e);
+    }
+  }
+}
@@ -1,25 +1,50 @@
 package com.i2i.ems.service;
 
+import java.time.Duration;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import com.i2i.ems.model.Employee;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import com.i2i.ems.model.EmployeePrincipal;
 import com.i2i.ems.repository.EmployeeRepository;
+import com.i2i.ems.util.BasicCredentialCache;
 
 /**
  * <p>
  * Service class that handles business logic related to user.
+ * Authentication details are kept in a bounded cache,
+ * which is invalidated whenever an employee is registered, updated or deleted,
+ * along with the cached HTTP Basic authentications of the employee.
  * </p>
  */
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
+
+  private static final Logger logger = LogManager.getLogger(UserService.class);
+  private static final int PRINCIPAL_CACHE_SIZE = 10_000;
+  private static final Duration PRINCIPAL_CACHE_TTL = Duration.ofMinutes(10);
+
+  private final Cache<String, EmployeePrincipal> principals = Caffeine.newBuilder()
+      .maximumSize(PRINCIPAL_CACHE_SIZE)
+      .expireAfterWrite(PRINCIPAL_CACHE_TTL)
+      .build();
 
   @Autowired
   private EmployeeRepository employeeRepository;
 
+  @Autowired
+  private BasicCredentialCache basicCredentialCache;
+
   /**
    * <p>
    * Load user by username which is an email.
@@ -31,10 +56,74 @@ public class UserService implements UserDetailsService {
    */
   @Override
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-    Employee employee = employeeRepository.findByEmail(username);
-    if (employee == null) {
+    EmployeePrincipal principal = principals.get(username, this::findPrincipal);
+    if (principal == null) {
       throw new UsernameNotFoundException("User not found");
     }
-    return employee;
+    return principal;
+  }
+
+  /**
+   * <p>
+   * Stores the password rehashed on login, when the cost of the stored hash
+   * differs from the current cost of the password encoder.
+   * </p>
+   *
+   * @param user        Details of the authenticated user.
+   * @param newPassword Rehashed password of the user.
+   * @return {@link UserDetails} Details of the user with the new password.
+   */
+  @Override
+  public UserDetails updatePassword(UserDetails user, String newPassword) {
+    EmployeePrincipal principal = (EmployeePrincipal) user;
+    employeeRepository.updatePassword(principal.getId(), newPassword);
+    evictUser(principal.getEmail());
+    logger.info("Password of employee {} rehashed", principal.getId());
+    return EmployeePrincipal.builder()
+        .id(principal.getId())
+        .email(principal.getEmail())
+        .password(newPassword)
+        .userType(principal.getUserType())
+        .isDeleted(principal.getIsDeleted())
+        .build();
+  }
+
+  /**
+   * <p>
+   * Removes the cached authentication details of the user with the given email.
+   * </p>
+   *
+   * @param email Email of the user.
+   */
+  public void evictUser(String email) {
+    if (null != email) {
+      principals.invalidate(email);
+      basicCredentialCache.invalidate(email);
+    }
+  }
+
+  /**
+   * <p>
+   * Removes the cached authentication details of the user with the given id.
+   * </p>
+   *
+   * @param id Id of the user.
+   */
+  public void evictUser(int id) {
+    principals.asMap().values().removeIf(principal -> principal.getId() == id);
+    basicCredentialCache.invalidate(id);
+  }
+
+  /**
+   * <p>
+   * Retrieves the authentication details of the user, preferring the active employee with the email.
+   * </p>
+   *
+   * @param email Email of the user.
+   * @return {@link EmployeePrincipal} Authentication details of the user, null if not found.
+   */
+  private EmployeePrincipal findPrincipal(String email) {
+    List<EmployeePrincipal> principals = employeeRepository.findPrincipalsByEmail(email);
+    return principals.isEmpty() ? null : principals.get(0);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,118 @@
+package com.i2i.ems.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Base64;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import com.i2i.ems.helper.EmployeeException;
+import com.i2i.ems.model.EmployeePrincipal;
+
+/**
+ * <p>
+ * Short-lived cache of successful HTTP Basic authentications, so that repeated requests
+ * with the same credentials skip the password hash verification.
+ * Credentials are keyed by their HMAC under a key generated for this instance,
+ * so neither the password nor an offline-checkable hash of it is kept in memory.
+ * </p>
+ */
+@Component
+public class BasicCredentialCache {
+
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+  private final SecretKey hmacKey;
+  private final Cache<String, UserDetails> authenticatedUsers;
+
+  public BasicCredentialCache(@Value("${ems.security.basic-cache.size:1000}") int size,
+                              @Value("${ems.security.basic-cache.ttl:PT5M}") Duration ttl) {
+    try {
+      this.hmacKey = KeyGenerator.getInstance(HMAC_ALGORITHM).generateKey();
+    } catch (GeneralSecurityException e) {
+      throw new EmployeeException("Cannot create credential cache key", e);
+    }
+    this.authenticatedUsers = Caffeine.newBuilder()
+        .maximumSize(size)
+        .expireAfterWrite(ttl)
+        .build();
+  }
+
+  /**
+   * <p>
+   * Computes the cache key of the credentials.
+   * </p>
+   *
+   * @param username username of the credentials
+   * @param password raw password of the credentials
+   * @return {@link String} keyed hash of the credentials
+   */
+  public String key(String username, String password) {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(hmacKey);
+      mac.update(username.getBytes(StandardCharsets.UTF_8));
+      mac.update((byte) 0);
+      return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    } catch (GeneralSecurityException e) {
+      throw new EmployeeException("Cannot hash credentials", e);
+    }
+  }
+
+  /**
+   * <p>
+   * Retrieves the user authenticated earlier with the credentials of the key.
+   * </p>
+   *
+   * @param key keyed hash of the credentials
+   * @return {@link UserDetails} authenticated user, null if not cached
+   */
+  public UserDetails get(String key) {
+    return authenticatedUsers.getIfPresent(key);
+  }
+
+  /**
+   * <p>
+   * Remembers a successful authentication.
+   * </p>
+   *
+   * @param key  keyed hash of the credentials
+   * @param user authenticated user
+   */
+  public void put(String key, UserDetails user) {
+    authenticatedUsers.put(key, user);
+  }
+
+  /**
+   * <p>
+   * Forgets every cached authentication of the user with the given email.
+   * </p>
+   *
+   * @param email email of the user
+   */
+  public void invalidate(String email) {
+    authenticatedUsers.asMap().values().removeIf(user -> user.getUsername().equals(email));
+  }
+
+  /**
+   * <p>
+   * Forgets every cached authentication of the user with the given id.
+   * </p>
+   *
+   * @param id id of the user
+   */
+  public void invalidate(int id) {
+    authenticatedUsers.asMap().values()
+        .removeIf(user -> user instanceof EmployeePrincipal principal && principal.getId() == id);
+  }
+}
@@ -0,0 +1,151 @@
+package com.i2i.ems.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import com.i2i.ems.helper.EmployeeException;
+import com.i2i.ems.helper.ServerBusyException;
+
+/**
+ * <p>
+ * Password encoder that runs the hashing of its delegate on a dedicated, size-limited executor.
+ * Work beyond the bounded queue is rejected with a {@link ServerBusyException}
+ * instead of occupying more request threads.
+ * Queue depth and hashing latency are exported as metrics.
+ * </p>
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+  private static final Logger logger = LogManager.getLogger(BoundedPasswordEncoder.class);
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final long retryAfterSeconds;
+  private final Timer encodeTimer;
+  private final Timer matchesTimer;
+
+  /**
+   * <p>
+   * Creates the encoder and registers its metrics.
+   * </p>
+   *
+   * @param delegate          encoder that does the actual hashing
+   * @param threads           number of threads allowed to hash at the same time
+   * @param queueCapacity     number of hashing requests allowed to wait for a thread
+   * @param retryAfterSeconds seconds after which a rejected client may retry
+   * @param meterRegistry     registry to export the metrics to
+   */
+  public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                long retryAfterSeconds, MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.retryAfterSeconds = retryAfterSeconds;
+    this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(),
+        new ThreadPoolExecutor.AbortPolicy());
+    Gauge.builder("ems.password.hashing.queue.size", executor, e -> e.getQueue().size())
+        .description("Password hashing requests waiting for a thread")
+        .register(meterRegistry);
+    Gauge.builder("ems.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+        .description("Password hashing requests being processed")
+        .register(meterRegistry);
+    this.encodeTimer = Timer.builder("ems.password.hashing.latency")
+        .tag("operation", "encode")
+        .register(meterRegistry);
+    this.matchesTimer = Timer.builder("ems.password.hashing.latency")
+        .tag("operation", "matches")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return execute(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword)));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return execute(() -> matchesTimer.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  /**
+   * <p>
+   * Encoder that does the actual hashing, without the bounds of this encoder.
+   * Meant for batch jobs that hash on an executor of their own.
+   * </p>
+   *
+   * @return {@link PasswordEncoder} the wrapped encoder
+   */
+  public PasswordEncoder getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * <p>
+   * Stops the hashing threads once the queued work is done.
+   * </p>
+   */
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  /**
+   * <p>
+   * Runs the hashing task on the executor and waits for its result.
+   * </p>
+   *
+   * @param task hashing task to be run
+   * @return result of the task
+   * @throws ServerBusyException if the hashing queue is full
+   * @throws EmployeeException   if the task fails or the waiting thread is interrupted
+   */
+  private <T> T execute(Callable<T> task) {
+    try {
+      return executor.submit(task).get();
+    } catch (RejectedExecutionException e) {
+      logger.warn("Password hashing queue is full, rejecting request");
+      throw new ServerBusyException("Server is busy, please retry later", retryAfterSeconds);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new EmployeeException("Interrupted while hashing password", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new EmployeeException("Cannot hash password", e.getCause());
+    }
+  }
+
+  /**
+   * <p>
+   * Names the hashing threads so that they can be told apart in thread dumps.
+   * </p>
+   */
+  private static class HashingThreadFactory implements ThreadFactory {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package com.i2i.ems.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * <p>
+ * BCrypt password encoder whose cost is chosen by benchmarking the current hardware.
+ * Stored hashes whose cost is below the calibrated cost are reported for upgrade,
+ * so that they are rehashed on the next successful login.
+ * </p>
+ * <p>
+ * Every node calibrates its own cost, so nodes on different hardware may settle on different costs.
+ * Hashes with a higher cost than the local one are kept as they are, otherwise a password would be
+ * rehashed back and forth as the logins of the user land on different nodes.
+ * </p>
+ */
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+  private static final Logger logger = LogManager.getLogger(CalibratedBCryptPasswordEncoder.class);
+  private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2([ayb])?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+  private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+  private final int strength;
+
+  private CalibratedBCryptPasswordEncoder(int strength) {
+    super(strength);
+    this.strength = strength;
+  }
+
+  /**
+   * <p>
+   * Creates an encoder with the highest cost whose hashing time stays within the target latency.
+   * The cost never goes below the minimum strength, even on slow hardware.
+   * </p>
+   *
+   * @param targetMillis target time to hash a password, in milliseconds
+   * @param minStrength  lowest cost that is allowed
+   * @param maxStrength  highest cost that is allowed
+   * @return {@link CalibratedBCryptPasswordEncoder} encoder with the calibrated cost
+   */
+  public static CalibratedBCryptPasswordEncoder calibrate(long targetMillis, int minStrength, int maxStrength) {
+    new BCryptPasswordEncoder(minStrength).encode(CALIBRATION_PASSWORD);
+    int strength = minStrength;
+    for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+      long start = System.nanoTime();
+      new BCryptPasswordEncoder(candidate).encode(CALIBRATION_PASSWORD);
+      long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+      logger.debug("BCrypt cost {} took {} ms", candidate, elapsedMillis);
+      if (elapsedMillis > targetMillis) {
+        break;
+      }
+      strength = candidate;
+    }
+    logger.info("BCrypt cost calibrated to {} for a target of {} ms", strength, targetMillis);
+    return new CalibratedBCryptPasswordEncoder(strength);
+  }
+
+  /**
+   * <p>
+   * Checks whether the stored hash was made with a lower cost than the calibrated one.
+   * </p>
+   *
+   * @param encodedPassword stored hash of the password
+   * @return true if the password should be rehashed with the higher calibrated cost
+   */
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    if (null == encodedPassword || encodedPassword.isEmpty()) {
+      return false;
+    }
+    Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+    if (!matcher.matches()) {
+      return false;
+    }
+    return Integer.parseInt(matcher.group(2)) < strength;
+  }
+}
@@ -0,0 +1,71 @@
+package com.i2i.ems.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Utility class that reads and writes CSV values as described in RFC 4180.
+ * Records are expected on a single line.
+ * </p>
+ */
+public class CsvUtil {
+
+  /**
+   * <p>
+   * Quotes the value if it contains a separator, a quote or a line break.
+   * </p>
+   *
+   * @param value the value to be written
+   * @return the value as a CSV field, empty if the value is null
+   */
+  public static String escape(String value) {
+    if (null == value) {
+      return "";
+    }
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+
+  /**
+   * <p>
+   * Splits a CSV line into its fields, unquoting the quoted ones.
+   * </p>
+   *
+   * @param line the line to be split
+   * @return the fields of the line
+   * @throws IllegalArgumentException if a quoted field is not closed
+   */
+  public static List<String> parseLine(String line) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c != '"') {
+          field.append(c);
+        } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    if (quoted) {
+      throw new IllegalArgumentException("Unterminated quoted field");
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+}
@@ -0,0 +1,46 @@
+package com.i2i.ems.util;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * <p>
+ * Utility class that encodes the position of a keyset paginated list into an opaque cursor.
+ * </p>
+ */
+public class CursorUtil {
+
+  /**
+   * <p>
+   * Encodes the id of the last item returned into the cursor of the next page.
+   * </p>
+   *
+   * @param lastId id of the last item of the page
+   * @return the cursor of the next page
+   */
+  public static String encode(int lastId) {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(ByteBuffer.allocate(Integer.BYTES).putInt(lastId).array());
+  }
+
+  /**
+   * <p>
+   * Decodes the cursor into the id after which the page starts.
+   * An empty cursor starts from the beginning of the list.
+   * </p>
+   *
+   * @param cursor the cursor returned with the previous page
+   * @return the id after which the page starts
+   * @throws IllegalArgumentException if the cursor is malformed
+   */
+  public static int decode(String cursor) {
+    if (null == cursor || cursor.isBlank()) {
+      return 0;
+    }
+    byte[] bytes = Base64.getUrlDecoder().decode(cursor.trim());
+    if (bytes.length != Integer.BYTES) {
+      throw new IllegalArgumentException("Invalid cursor");
+    }
+    return ByteBuffer.wrap(bytes).getInt();
+  }
+}
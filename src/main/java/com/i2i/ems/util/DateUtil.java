@@ -1,17 +1,33 @@
 package com.i2i.ems.util;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.Period;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.Date;
 
 /**
  * <p>
  * Utility class that provides methods to perform date related operations.
  * </p>
+ * <p>
+ * Dates are converted with {@code java.time} directly, without formatting and parsing them.
+ * The current day is cached along with the instants it starts and ends at, so ages are
+ * computed against it without reading the clock's zone rules for every employee.
+ * </p>
  */
 public class DateUtil {
+
+  /**
+   * <p>
+   * A day of the default time zone with the instants it starts and ends at.
+   * </p>
+   */
+  private record Day(LocalDate date, long startsAt, long endsAt) {
+  }
+
+  private static volatile Day today = new Day(LocalDate.MIN, Long.MAX_VALUE, Long.MIN_VALUE);
+
   /**
    * <p>
    * Returns the number of years between two dates.
@@ -22,12 +38,85 @@ public class DateUtil {
    * @return the number of years between the two dates
    */
   public static int getYearsBetween(Date date1, Date date2) {
+    return getYearsBetween(toLocalDate(date1), toLocalDate(date2));
+  }
+
+  /**
+   * <p>
+   * Returns the number of years between two local dates.
+   * </p>
+   *
+   * @param date1 the first date
+   * @param date2 the second date
+   * @return the number of years between the two dates
+   */
+  public static int getYearsBetween(LocalDate date1, LocalDate date2) {
     if (date1 == null || date2 == null) {
       return -1;
     }
-    DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-    LocalDate date1InLocalDate = LocalDate.parse(dateFormat.format(date1));
-    LocalDate date2InLocalDate = LocalDate.parse(dateFormat.format(date2));
-    return Period.between(date1InLocalDate, date2InLocalDate).getYears();
+    return (int) date1.until(date2, ChronoUnit.YEARS);
+  }
+
+  /**
+   * <p>
+   * Returns the age as of today of someone born on the given date.
+   * </p>
+   *
+   * @param dob the date of birth
+   * @return the age in years, -1 if the date of birth is null
+   */
+  public static int getAge(Date dob) {
+    return getYearsBetween(toLocalDate(dob), today());
+  }
+
+  /**
+   * <p>
+   * Returns the current day in the default time zone.
+   * The day is computed once and reused until midnight.
+   * </p>
+   *
+   * @return the current local date
+   */
+  public static LocalDate today() {
+    return today(System.currentTimeMillis());
+  }
+
+  /**
+   * <p>
+   * Returns the day in the default time zone at the given instant,
+   * reusing the cached day if the instant falls within it.
+   * </p>
+   *
+   * @param now the instant in milliseconds since the epoch
+   * @return the local date at the instant
+   */
+  static LocalDate today(long now) {
+    Day day = today;
+    if (now < day.startsAt() || now >= day.endsAt()) {
+      ZoneId zone = ZoneId.systemDefault();
+      LocalDate date = LocalDate.ofInstant(Instant.ofEpochMilli(now), zone);
+      day = new Day(date, date.atStartOfDay(zone).toInstant().toEpochMilli(),
+          date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+      today = day;
+    }
+    return day.date();
+  }
+
+  /**
+   * <p>
+   * Returns the local date of the given date in the default time zone.
+   * </p>
+   *
+   * @param date the date to be converted
+   * @return the local date, null if the date is null
+   */
+  public static LocalDate toLocalDate(Date date) {
+    if (date == null) {
+      return null;
+    }
+    if (date instanceof java.sql.Date sqlDate) {
+      return sqlDate.toLocalDate();
+    }
+    return LocalDate.ofInstant(date.toInstant(), ZoneId.systemDefault());
   }
 }
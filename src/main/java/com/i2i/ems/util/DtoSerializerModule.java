@@ -0,0 +1,158 @@
+package com.i2i.ems.util;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.stereotype.Component;
+
+import com.i2i.ems.dto.AccountDto;
+import com.i2i.ems.dto.EmployeeDto;
+import com.i2i.ems.dto.RoleDto;
+import com.i2i.ems.dto.SkillDto;
+
+/**
+ * <p>
+ * Jackson module with hand-written serializers for the DTOs returned in lists,
+ * registered with the application's object mapper.
+ * </p>
+ * <p>
+ * The serializers write the fields in the same order and under the same names as the
+ * reflection-based serializers, so responses are unchanged, but without looking up
+ * properties and invoking getters reflectively for every DTO.
+ * Dates are written by the provider, so the configured date format still applies.
+ * </p>
+ */
+@Component
+public class DtoSerializerModule extends SimpleModule {
+
+  public DtoSerializerModule() {
+    super(DtoSerializerModule.class.getSimpleName());
+    addSerializer(EmployeeDto.class, new EmployeeDtoSerializer());
+    addSerializer(SkillDto.class, new SkillDtoSerializer());
+    addSerializer(RoleDto.class, new RoleDtoSerializer());
+    addSerializer(AccountDto.class, new AccountDtoSerializer());
+  }
+
+  private static final class EmployeeDtoSerializer extends StdSerializer<EmployeeDto> {
+
+    private EmployeeDtoSerializer() {
+      super(EmployeeDto.class);
+    }
+
+    @Override
+    public void serialize(EmployeeDto employee, JsonGenerator generator, SerializerProvider provider)
+        throws IOException {
+      generator.writeStartObject(employee);
+      generator.writeNumberField("id", employee.getId());
+      generator.writeStringField("name", employee.getName());
+      generator.writeFieldName("dob");
+      if (null == employee.getDob()) {
+        generator.writeNull();
+      } else {
+        provider.defaultSerializeDateValue(employee.getDob(), generator);
+      }
+      generator.writeStringField("email", employee.getEmail());
+      generator.writeNumberField("mobileNo", employee.getMobileNo());
+      generator.writeNumberField("age", employee.getAge());
+      generator.writeStringField("userType", null == employee.getUserType() ? null : employee.getUserType().name());
+      generator.writeStringField("password", employee.getPassword());
+      generator.writeFieldName("account");
+      AccountDtoSerializer.write(employee.getAccount(), generator);
+      generator.writeFieldName("role");
+      RoleDtoSerializer.write(employee.getRole(), generator);
+      generator.writeFieldName("skills");
+      List<SkillDto> skills = employee.getSkills();
+      if (null == skills) {
+        generator.writeNull();
+      } else {
+        generator.writeStartArray(skills, skills.size());
+        for (SkillDto skill : skills) {
+          SkillDtoSerializer.write(skill, generator);
+        }
+        generator.writeEndArray();
+      }
+      generator.writeStringField("uuid", employee.getUUID());
+      generator.writeEndObject();
+    }
+  }
+
+  private static final class SkillDtoSerializer extends StdSerializer<SkillDto> {
+
+    private SkillDtoSerializer() {
+      super(SkillDto.class);
+    }
+
+    @Override
+    public void serialize(SkillDto skill, JsonGenerator generator, SerializerProvider provider) throws IOException {
+      write(skill, generator);
+    }
+
+    private static void write(SkillDto skill, JsonGenerator generator) throws IOException {
+      if (null == skill) {
+        generator.writeNull();
+        return;
+      }
+      generator.writeStartObject(skill);
+      generator.writeNumberField("id", skill.getId());
+      generator.writeStringField("name", skill.getName());
+      generator.writeStringField("category", skill.getCategory());
+      generator.writeStringField("institute", skill.getInstitute());
+      generator.writeEndObject();
+    }
+  }
+
+  private static final class RoleDtoSerializer extends StdSerializer<RoleDto> {
+
+    private RoleDtoSerializer() {
+      super(RoleDto.class);
+    }
+
+    @Override
+    public void serialize(RoleDto role, JsonGenerator generator, SerializerProvider provider) throws IOException {
+      write(role, generator);
+    }
+
+    private static void write(RoleDto role, JsonGenerator generator) throws IOException {
+      if (null == role) {
+        generator.writeNull();
+        return;
+      }
+      generator.writeStartObject(role);
+      generator.writeNumberField("id", role.getId());
+      generator.writeStringField("designation", role.getDesignation());
+      generator.writeStringField("level", role.getLevel());
+      generator.writeStringField("department", role.getDepartment());
+      generator.writeEndObject();
+    }
+  }
+
+  private static final class AccountDtoSerializer extends StdSerializer<AccountDto> {
+
+    private AccountDtoSerializer() {
+      super(AccountDto.class);
+    }
+
+    @Override
+    public void serialize(AccountDto account, JsonGenerator generator, SerializerProvider provider)
+        throws IOException {
+      write(account, generator);
+    }
+
+    private static void write(AccountDto account, JsonGenerator generator) throws IOException {
+      if (null == account) {
+        generator.writeNull();
+        return;
+      }
+      generator.writeStartObject(account);
+      generator.writeNumberField("id", account.getId());
+      generator.writeStringField("bankName", account.getBankName());
+      generator.writeStringField("accountNumber", account.getAccountNumber());
+      generator.writeStringField("ifscCode", account.getIfscCode());
+      generator.writeEndObject();
+    }
+  }
+}
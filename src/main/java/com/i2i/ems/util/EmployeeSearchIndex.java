@@ -0,0 +1,363 @@
+package com.i2i.ems.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import com.i2i.ems.model.EmployeeSearchRow;
+
+/**
+ * <p>
+ * In-memory inverted index of the active employees, searched by prefix.
+ * An employee is indexed under the words of their name, role designation, department
+ * and skill names, and under their whole email.
+ * </p>
+ * <p>
+ * Terms are kept sorted, so the terms starting with a prefix are a contiguous range of the index.
+ * Each term holds the ids of its employees in sorted blocks of ints, which keeps a million employees
+ * within a few hundred MB. Blocks are replaced rather than modified, so searches run without locks
+ * while changes are applied one batch at a time, and a change only copies the blocks it touches.
+ * A search merges the ids of the terms in the range of its longest word in id order, checks the
+ * other words against the terms stored per employee, and stops as soon as it has enough employees.
+ * </p>
+ */
+@Component
+public class EmployeeSearchIndex {
+
+  private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final int BLOCK_SIZE = 512;
+  private static final int[] NO_IDS = new int[0];
+  private static final Term[] NO_TERMS = new Term[0];
+
+  private final ConcurrentSkipListMap<String, Term> terms = new ConcurrentSkipListMap<>();
+  private final Map<String, Term> termsByName = new HashMap<>();
+  private final Map<Integer, Term[]> termsById = new ConcurrentHashMap<>();
+
+  /**
+   * <p>
+   * A term of the index with the sorted ids of the employees having it.
+   * </p>
+   */
+  private static final class Term {
+    private final String name;
+    private volatile int[][] blocks = new int[0][];
+
+    private Term(String name) {
+      this.name = name;
+    }
+  }
+
+  /**
+   * <p>
+   * Position in the ids of a term, used to merge the ids of several terms in id order.
+   * </p>
+   */
+  private static final class Cursor implements Comparable<Cursor> {
+    private final int[][] blocks;
+    private int block;
+    private int position;
+
+    private Cursor(int[][] blocks) {
+      this.blocks = blocks;
+    }
+
+    private int id() {
+      return blocks[block][position];
+    }
+
+    @Override
+    public int compareTo(Cursor other) {
+      return Integer.compare(id(), other.id());
+    }
+
+    private boolean advance() {
+      if (++position < blocks[block].length) {
+        return true;
+      }
+      position = 0;
+      return ++block < blocks.length;
+    }
+  }
+
+  /**
+   * <p>
+   * Replaces the indexed terms of the given employees with the terms of their rows.
+   * Employees without rows are removed from the index.
+   * </p>
+   *
+   * @param ids  ids of the employees to be replaced
+   * @param rows searchable fields of the employees that are active, one row per skill
+   */
+  public void replace(Collection<Integer> ids, Collection<EmployeeSearchRow> rows) {
+    Map<Integer, Set<String>> documents = new HashMap<>();
+    for (Integer id : ids) {
+      documents.put(id, new HashSet<>());
+    }
+    for (EmployeeSearchRow row : rows) {
+      Set<String> terms = documents.computeIfAbsent(row.getId(), id -> new HashSet<>());
+      addWords(terms, row.getName());
+      addWords(terms, row.getDesignation());
+      addWords(terms, row.getDepartment());
+      addWords(terms, row.getSkill());
+      if (null != row.getEmail() && !row.getEmail().isBlank()) {
+        terms.add(row.getEmail().trim().toLowerCase(Locale.ROOT));
+      }
+    }
+    apply(documents);
+  }
+
+  /**
+   * <p>
+   * Removes the employee from the index.
+   * </p>
+   *
+   * @param id id of the employee
+   */
+  public void remove(int id) {
+    apply(Map.of(id, Set.of()));
+  }
+
+  /**
+   * <p>
+   * Finds the employees that have a term starting with each word of the query.
+   * A word holding an @ is matched against emails as a whole.
+   * </p>
+   *
+   * @param query words to be searched
+   * @param limit maximum number of employees returned
+   * @return {@link List<Integer>} ids of the matching employees, in id order
+   */
+  public List<Integer> search(String query, int limit) {
+    List<String> prefixes = queryPrefixes(query);
+    if (prefixes.isEmpty() || limit < 1) {
+      return List.of();
+    }
+    prefixes.sort(Comparator.comparingInt(String::length).reversed());
+    String prefix = prefixes.get(0);
+    List<Cursor> cursors = new ArrayList<>();
+    for (Term term : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+      int[][] blocks = term.blocks;
+      if (blocks.length > 0) {
+        cursors.add(new Cursor(blocks));
+      }
+    }
+    PriorityQueue<Cursor> queue = new PriorityQueue<>(cursors);
+    List<Integer> results = new ArrayList<>(limit);
+    int previous = -1;
+    while (!queue.isEmpty() && results.size() < limit) {
+      Cursor cursor = queue.poll();
+      int id = cursor.id();
+      if (cursor.advance()) {
+        queue.add(cursor);
+      }
+      if (id != previous && matchesAll(id, prefixes)) {
+        results.add(id);
+      }
+      previous = id;
+    }
+    return results;
+  }
+
+  /**
+   * <p>
+   * Number of employees in the index.
+   * </p>
+   *
+   * @return int number of indexed employees
+   */
+  public int size() {
+    return termsById.size();
+  }
+
+  /**
+   * <p>
+   * Applies the new terms of the employees, updating each affected term once per batch.
+   * </p>
+   */
+  private synchronized void apply(Map<Integer, Set<String>> documents) {
+    Map<String, List<Integer>> added = new HashMap<>();
+    Map<String, List<Integer>> removed = new HashMap<>();
+    for (Map.Entry<Integer, Set<String>> document : documents.entrySet()) {
+      int id = document.getKey();
+      Set<String> names = document.getValue();
+      Set<String> previousNames = new HashSet<>();
+      for (Term term : termsById.getOrDefault(id, NO_TERMS)) {
+        previousNames.add(term.name);
+        if (!names.contains(term.name)) {
+          removed.computeIfAbsent(term.name, name -> new ArrayList<>()).add(id);
+        }
+      }
+      for (String name : names) {
+        if (!previousNames.contains(name)) {
+          added.computeIfAbsent(name, key -> new ArrayList<>()).add(id);
+        }
+      }
+    }
+    for (Map.Entry<String, List<Integer>> change : added.entrySet()) {
+      Term term = termsByName.get(change.getKey());
+      if (null == term) {
+        term = new Term(change.getKey());
+        termsByName.put(term.name, term);
+        terms.put(term.name, term);
+      }
+      term.blocks = merge(term.blocks, sorted(change.getValue()), sorted(removed.remove(term.name)));
+    }
+    for (Map.Entry<String, List<Integer>> change : removed.entrySet()) {
+      Term term = termsByName.get(change.getKey());
+      term.blocks = merge(term.blocks, NO_IDS, sorted(change.getValue()));
+      if (0 == term.blocks.length) {
+        termsByName.remove(term.name);
+        terms.remove(term.name);
+      }
+    }
+    for (Map.Entry<Integer, Set<String>> document : documents.entrySet()) {
+      if (document.getValue().isEmpty()) {
+        termsById.remove(document.getKey());
+      } else {
+        termsById.put(document.getKey(), document.getValue().stream()
+            .map(termsByName::get)
+            .toArray(Term[]::new));
+      }
+    }
+  }
+
+  private boolean matchesAll(int id, List<String> prefixes) {
+    Term[] employeeTerms = termsById.get(id);
+    if (null == employeeTerms) {
+      return false;
+    }
+    for (int i = 1; i < prefixes.size(); i++) {
+      String prefix = prefixes.get(i);
+      if (Arrays.stream(employeeTerms).noneMatch(term -> term.name.startsWith(prefix))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * <p>
+   * Adds and removes the sorted ids from the blocks. Ids go to the block covering them,
+   * blocks without changes are kept as they are and blocks that grow too large are split.
+   * </p>
+   */
+  private static int[][] merge(int[][] blocks, int[] added, int[] removed) {
+    List<int[]> merged = new ArrayList<>(blocks.length + 1);
+    int addedFrom = 0;
+    int removedFrom = 0;
+    for (int i = 0; i < Math.max(1, blocks.length); i++) {
+      int[] block = i < blocks.length ? blocks[i] : NO_IDS;
+      int upper = i + 1 < blocks.length ? blocks[i + 1][0] : Integer.MAX_VALUE;
+      int addedTo = addedFrom;
+      while (addedTo < added.length && added[addedTo] < upper) {
+        addedTo++;
+      }
+      int removedTo = removedFrom;
+      while (removedTo < removed.length && removed[removedTo] < upper) {
+        removedTo++;
+      }
+      if (addedTo == addedFrom && removedTo == removedFrom) {
+        if (block.length > 0) {
+          merged.add(block);
+        }
+        continue;
+      }
+      int[] ids = mergeBlock(block, Arrays.copyOfRange(added, addedFrom, addedTo),
+          Arrays.copyOfRange(removed, removedFrom, removedTo));
+      if (ids.length <= 2 * BLOCK_SIZE) {
+        if (ids.length > 0) {
+          merged.add(ids);
+        }
+      } else {
+        for (int from = 0; from < ids.length; from += BLOCK_SIZE) {
+          merged.add(Arrays.copyOfRange(ids, from, Math.min(from + BLOCK_SIZE, ids.length)));
+        }
+      }
+      addedFrom = addedTo;
+      removedFrom = removedTo;
+    }
+    return merged.toArray(new int[0][]);
+  }
+
+  /**
+   * <p>
+   * Merges the sorted ids of a block, leaving out the removed ones.
+   * </p>
+   */
+  private static int[] mergeBlock(int[] ids, int[] added, int[] removed) {
+    int[] merged = new int[ids.length + added.length];
+    int size = 0;
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    while (i < ids.length || j < added.length) {
+      int id;
+      if (j == added.length || (i < ids.length && ids[i] <= added[j])) {
+        id = ids[i++];
+      } else {
+        id = added[j++];
+      }
+      while (k < removed.length && removed[k] < id) {
+        k++;
+      }
+      if ((k < removed.length && removed[k] == id) || (size > 0 && merged[size - 1] == id)) {
+        continue;
+      }
+      merged[size++] = id;
+    }
+    return size == merged.length ? merged : Arrays.copyOf(merged, size);
+  }
+
+  private static int[] sorted(List<Integer> ids) {
+    if (null == ids) {
+      return NO_IDS;
+    }
+    int[] sorted = new int[ids.size()];
+    for (int i = 0; i < sorted.length; i++) {
+      sorted[i] = ids.get(i);
+    }
+    Arrays.sort(sorted);
+    return sorted;
+  }
+
+  private static void addWords(Set<String> terms, String text) {
+    if (null == text) {
+      return;
+    }
+    for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+      if (!word.isEmpty()) {
+        terms.add(word);
+      }
+    }
+  }
+
+  private static List<String> queryPrefixes(String query) {
+    Set<String> prefixes = new LinkedHashSet<>();
+    if (null == query) {
+      return new ArrayList<>();
+    }
+    for (String word : WHITESPACE.split(query.trim())) {
+      if (word.contains("@")) {
+        prefixes.add(word.toLowerCase(Locale.ROOT));
+      } else {
+        addWords(prefixes, word);
+      }
+    }
+    return new ArrayList<>(prefixes);
+  }
+}
@@ -0,0 +1,251 @@
+package com.i2i.ems.util;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.i2i.ems.model.EmployeeProfileRow;
+
+/**
+ * <p>
+ * Headcount of the active employees by department, designation, level, skill category and age,
+ * kept up to date by the write paths instead of being counted from the database on every read.
+ * </p>
+ * <p>
+ * The counted fields of each employee are kept along with the counters, so a change subtracts
+ * what the employee counted for before and adds what they count for now.
+ * Ages change without any write, so employees are counted by date of birth,
+ * and the counts are grouped into age bands as of the day they are read.
+ * Changes are applied one at a time, reads see the counters without locks.
+ * </p>
+ */
+@Component
+public class HeadcountCounters {
+
+  /**
+   * <p>
+   * Fields of an employee that are counted.
+   * </p>
+   */
+  public record Profile(String department, String designation, String level, LocalDate dob,
+                        Set<String> skillCategories) {
+  }
+
+  /**
+   * <p>
+   * Counters along with the profiles they were counted from.
+   * </p>
+   */
+  private static final class Counts {
+    private final Map<Integer, Profile> profiles = new ConcurrentHashMap<>();
+    private final Map<String, Long> departments = new ConcurrentHashMap<>();
+    private final Map<String, Long> designations = new ConcurrentHashMap<>();
+    private final Map<String, Long> levels = new ConcurrentHashMap<>();
+    private final Map<String, Long> skillCategories = new ConcurrentHashMap<>();
+    private final Map<LocalDate, Long> birthDates = new ConcurrentHashMap<>();
+
+    private void put(int id, Profile profile) {
+      Profile previous = null == profile ? profiles.remove(id) : profiles.put(id, profile);
+      if (null != previous) {
+        count(previous, -1);
+      }
+      if (null != profile) {
+        count(profile, 1);
+      }
+    }
+
+    private void count(Profile profile, long delta) {
+      add(departments, profile.department(), delta);
+      add(designations, profile.designation(), delta);
+      add(levels, profile.level(), delta);
+      add(birthDates, profile.dob(), delta);
+      for (String category : profile.skillCategories()) {
+        add(skillCategories, category, delta);
+      }
+    }
+
+    private static <K> void add(Map<K, Long> counters, K key, long delta) {
+      if (null != key) {
+        counters.compute(key, (k, count) -> {
+          long sum = (null == count ? 0 : count) + delta;
+          return 0 == sum ? null : sum;
+        });
+      }
+    }
+  }
+
+  private volatile Counts counts = new Counts();
+
+  /**
+   * <p>
+   * Groups the rows of the employees into their profiles.
+   * </p>
+   *
+   * @param rows headcount fields of the employees, one row per skill
+   * @return {@link Map} profiles of the employees by id
+   */
+  public static Map<Integer, Profile> profiles(Collection<EmployeeProfileRow> rows) {
+    Map<Integer, Profile> profiles = new HashMap<>();
+    for (EmployeeProfileRow row : rows) {
+      Profile profile = profiles.computeIfAbsent(row.getId(), id -> new Profile(row.getDepartment(),
+          row.getDesignation(), row.getLevel(), DateUtil.toLocalDate(row.getDob()), new HashSet<>()));
+      if (null != row.getSkillCategory()) {
+        profile.skillCategories().add(row.getSkillCategory());
+      }
+    }
+    return profiles;
+  }
+
+  /**
+   * <p>
+   * Replaces the counted profiles of the given employees.
+   * Employees without a profile are no longer counted.
+   * </p>
+   *
+   * @param ids      ids of the employees changed
+   * @param profiles profiles of the employees that are active, by id
+   */
+  public synchronized void replace(Collection<Integer> ids, Map<Integer, Profile> profiles) {
+    for (Integer id : ids) {
+      counts.put(id, profiles.get(id));
+    }
+  }
+
+  /**
+   * <p>
+   * Replaces all the counters with the counts of the given profiles.
+   * </p>
+   *
+   * @param profiles profiles of all the active employees, by id
+   * @return {@link Map} differences of the replaced counters from the new counts, by dimension and value
+   */
+  public synchronized Map<String, Long> reload(Map<Integer, Profile> profiles) {
+    Counts reloaded = new Counts();
+    profiles.forEach(reloaded::put);
+    Map<String, Long> drift = new TreeMap<>();
+    drift("headcount", Map.of("", (long) counts.profiles.size()), Map.of("", (long) reloaded.profiles.size()), drift);
+    drift("department", counts.departments, reloaded.departments, drift);
+    drift("designation", counts.designations, reloaded.designations, drift);
+    drift("level", counts.levels, reloaded.levels, drift);
+    drift("skillCategory", counts.skillCategories, reloaded.skillCategories, drift);
+    drift("birthDate", counts.birthDates, reloaded.birthDates, drift);
+    counts = reloaded;
+    return drift;
+  }
+
+  private static <K> void drift(String dimension, Map<K, Long> counted, Map<K, Long> reloaded,
+                                Map<String, Long> drift) {
+    Set<K> keys = new HashSet<>(counted.keySet());
+    keys.addAll(reloaded.keySet());
+    for (K key : keys) {
+      long difference = counted.getOrDefault(key, 0L) - reloaded.getOrDefault(key, 0L);
+      if (0 != difference) {
+        drift.put(dimension + ":" + key, difference);
+      }
+    }
+  }
+
+  /**
+   * <p>
+   * Number of active employees.
+   * </p>
+   *
+   * @return long headcount
+   */
+  public long getHeadcount() {
+    return counts.profiles.size();
+  }
+
+  /**
+   * <p>
+   * Number of employees by the department of their role.
+   * </p>
+   *
+   * @return {@link Map} number of employees by department, in name order
+   */
+  public Map<String, Long> getDepartments() {
+    return new TreeMap<>(counts.departments);
+  }
+
+  /**
+   * <p>
+   * Number of employees by the designation of their role.
+   * </p>
+   *
+   * @return {@link Map} number of employees by designation, in name order
+   */
+  public Map<String, Long> getDesignations() {
+    return new TreeMap<>(counts.designations);
+  }
+
+  /**
+   * <p>
+   * Number of employees by the level of their role.
+   * </p>
+   *
+   * @return {@link Map} number of employees by level, in name order
+   */
+  public Map<String, Long> getLevels() {
+    return new TreeMap<>(counts.levels);
+  }
+
+  /**
+   * <p>
+   * Number of employees having a skill of each category.
+   * </p>
+   *
+   * @return {@link Map} number of employees by skill category, in name order
+   */
+  public Map<String, Long> getSkillCategories() {
+    return new TreeMap<>(counts.skillCategories);
+  }
+
+  /**
+   * <p>
+   * Counts the employees in each age band as of the given day.
+   * The bands are bounded by the given ages, the first band holds the employees
+   * younger than the first bound and the last one those at least as old as the last bound.
+   * </p>
+   *
+   * @param today  day the ages are counted at
+   * @param bounds ascending ages bounding the bands
+   * @return {@link Map} number of employees by band, in age order
+   */
+  public Map<String, Long> getAgeBands(LocalDate today, List<Integer> bounds) {
+    Map<String, Long> bands = new LinkedHashMap<>();
+    for (int i = 0; i <= bounds.size(); i++) {
+      bands.put(band(bounds, i), 0L);
+    }
+    for (Map.Entry<LocalDate, Long> birthDate : counts.birthDates.entrySet()) {
+      int age = DateUtil.getYearsBetween(birthDate.getKey(), today);
+      int band = 0;
+      while (band < bounds.size() && age >= bounds.get(band)) {
+        band++;
+      }
+      bands.merge(band(bounds, band), birthDate.getValue(), Long::sum);
+    }
+    return bands;
+  }
+
+  private static String band(List<Integer> bounds, int band) {
+    if (bounds.isEmpty()) {
+      return "all";
+    }
+    if (0 == band) {
+      return "<" + bounds.get(0);
+    }
+    if (bounds.size() == band) {
+      return bounds.get(band - 1) + "+";
+    }
+    return bounds.get(band - 1) + "-" + (bounds.get(band) - 1);
+  }
+}
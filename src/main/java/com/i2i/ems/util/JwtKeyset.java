@@ -0,0 +1,267 @@
+package com.i2i.ems.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+import com.i2i.ems.helper.EmployeeException;
+
+/**
+ * <p>
+ * Set of keys used to sign and verify JWT tokens, shared by every instance of the application.
+ * Keys are loaded from a directory of {@code <kid>.key} files, each holding a base64 encoded secret,
+ * or from a single properties file of {@code <kid>=<base64 secret>} entries.
+ * </p>
+ * <p>
+ * Every loaded key verifies tokens. New tokens are signed with the newest key that was first seen
+ * longer than the activation delay ago, so that every instance has picked up a new key before tokens
+ * signed with it are handed out. A key is first seen at the time its file was written when it is
+ * loaded for the first time, keys added later to a properties file keep the time they were added at,
+ * and keys of a properties file written at once are ordered by their position in the file.
+ * The keyset is reloaded on a schedule, which is how keys are rotated, new keys being
+ * appended after the current ones.
+ * When no keyset path is configured, a random key is generated for this instance only.
+ * </p>
+ */
+@Component
+public class JwtKeyset {
+
+  private static final Logger logger = LogManager.getLogger(JwtKeyset.class);
+  private static final String KEY_FILE_SUFFIX = ".key";
+  private static final String LOCAL_KID = "local";
+
+  @Value("${ems.jwt.keyset-path:}")
+  private String keysetPath;
+
+  @Value("${ems.jwt.keyset.activation-delay:PT2M}")
+  private Duration activationDelay;
+
+  private final Map<String, KeyAge> keyAges = new HashMap<>();
+
+  private volatile Snapshot snapshot;
+
+  /**
+   * <p>
+   * Immutable view of the keyset, replaced as a whole on every reload.
+   * </p>
+   *
+   * @param verificationKeys keys that verify tokens, by kid
+   * @param signingKid       kid of the key that signs new tokens
+   */
+  private record Snapshot(Map<String, SecretKey> verificationKeys, String signingKid) {
+  }
+
+  /**
+   * <p>
+   * When a key was first seen, along with its position in the keyset to order keys seen at the same time.
+   * </p>
+   *
+   * @param firstSeen time the file holding the key was written when the key was first loaded
+   * @param position  position of the key in its properties file, 0 in a directory
+   */
+  private record KeyAge(Instant firstSeen, int position) {
+    private static final Comparator<Map.Entry<String, KeyAge>> ORDER = Comparator
+        .comparing((Map.Entry<String, KeyAge> entry) -> entry.getValue().firstSeen())
+        .thenComparingInt(entry -> entry.getValue().position())
+        .thenComparing(Map.Entry::getKey);
+  }
+
+  /**
+   * <p>
+   * Loads the keyset on startup.
+   * </p>
+   *
+   * @throws EmployeeException if the keyset cannot be loaded
+   */
+  @PostConstruct
+  public void init() {
+    if (keysetPath.isBlank()) {
+      logger.warn("No JWT keyset configured, tokens will only be valid on this instance");
+      snapshot = new Snapshot(Map.of(LOCAL_KID, generateKey()), LOCAL_KID);
+      return;
+    }
+    snapshot = load();
+  }
+
+  /**
+   * <p>
+   * Reloads the keyset from disk to pick up added and removed keys.
+   * A failed reload keeps the current keyset.
+   * </p>
+   */
+  @Scheduled(fixedDelayString = "${ems.jwt.keyset.reload-interval:PT1M}",
+      initialDelayString = "${ems.jwt.keyset.reload-interval:PT1M}")
+  public void reload() {
+    if (keysetPath.isBlank()) {
+      return;
+    }
+    try {
+      Snapshot reloaded = load();
+      if (!reloaded.verificationKeys().keySet().equals(snapshot.verificationKeys().keySet())
+          || !reloaded.signingKid().equals(snapshot.signingKid())) {
+        logger.info("JWT keyset changed, kids {} signing with {}",
+            reloaded.verificationKeys().keySet(), reloaded.signingKid());
+      }
+      snapshot = reloaded;
+    } catch (EmployeeException e) {
+      logger.error("Cannot reload JWT keyset, keeping the current keys", e);
+    }
+  }
+
+  /**
+   * <p>
+   * Kid of the key that signs new tokens.
+   * </p>
+   *
+   * @return {@link String} kid of the signing key
+   */
+  public String getSigningKid() {
+    return snapshot.signingKid();
+  }
+
+  /**
+   * <p>
+   * Key that signs new tokens.
+   * </p>
+   *
+   * @return {@link SecretKey} signing key
+   */
+  public SecretKey getSigningKey() {
+    Snapshot current = snapshot;
+    return current.verificationKeys().get(current.signingKid());
+  }
+
+  /**
+   * <p>
+   * Key that verifies tokens carrying the given kid.
+   * </p>
+   *
+   * @param kid kid from the header of the token
+   * @return {@link SecretKey} verification key, null if the kid is unknown
+   */
+  public SecretKey getVerificationKey(String kid) {
+    return null == kid ? null : snapshot.verificationKeys().get(kid);
+  }
+
+  /**
+   * <p>
+   * Checks whether tokens with the given kid are still accepted.
+   * </p>
+   *
+   * @param kid kid from the header of the token
+   * @return true if the key is still part of the keyset
+   */
+  public boolean contains(String kid) {
+    return null != kid && snapshot.verificationKeys().containsKey(kid);
+  }
+
+  /**
+   * <p>
+   * Loads the keys from the configured file or directory.
+   * Keys loaded before keep the age they were first seen with.
+   * </p>
+   *
+   * @return {@link Snapshot} loaded keyset
+   * @throws EmployeeException if the keyset cannot be read or is empty
+   */
+  private synchronized Snapshot load() {
+    Path path = Paths.get(keysetPath);
+    Map<String, SecretKey> keys = new HashMap<>();
+    Map<String, KeyAge> ages = new HashMap<>();
+    try {
+      if (Files.isDirectory(path)) {
+        try (Stream<Path> files = Files.list(path)) {
+          for (Path file : files.filter(f -> f.getFileName().toString().endsWith(KEY_FILE_SUFFIX)).toList()) {
+            String fileName = file.getFileName().toString();
+            String kid = fileName.substring(0, fileName.length() - KEY_FILE_SUFFIX.length());
+            keys.put(kid, decodeKey(Files.readString(file)));
+            ages.put(kid, new KeyAge(Files.getLastModifiedTime(file).toInstant(), 0));
+          }
+        }
+      } else {
+        List<String> kids = new ArrayList<>();
+        Properties properties = new Properties() {
+          @Override
+          public synchronized Object put(Object key, Object value) {
+            kids.add((String) key);
+            return super.put(key, value);
+          }
+        };
+        try (Reader reader = Files.newBufferedReader(path)) {
+          properties.load(reader);
+        }
+        Instant modified = Files.getLastModifiedTime(path).toInstant();
+        for (String kid : properties.stringPropertyNames()) {
+          keys.put(kid, decodeKey(properties.getProperty(kid)));
+          ages.put(kid, new KeyAge(modified, kids.lastIndexOf(kid)));
+        }
+      }
+    } catch (IOException | JwtException e) {
+      throw new EmployeeException("Cannot load JWT keyset from " + keysetPath, e);
+    }
+    if (keys.isEmpty()) {
+      throw new EmployeeException("No JWT keys found in " + keysetPath, null);
+    }
+    keyAges.keySet().retainAll(keys.keySet());
+    ages.forEach(keyAges::putIfAbsent);
+    return new Snapshot(Map.copyOf(keys), selectSigningKid(keyAges));
+  }
+
+  /**
+   * <p>
+   * Selects the newest key among the keys first seen before the activation delay.
+   * When every key is newer, the oldest key is used, as it is the most likely to be known
+   * by the other instances.
+   * </p>
+   *
+   * @param ages when each key was first seen, by kid
+   * @return {@link String} kid of the signing key
+   */
+  private String selectSigningKid(Map<String, KeyAge> ages) {
+    Instant activeBefore = Instant.now().minus(activationDelay);
+    return ages.entrySet().stream()
+        .filter(entry -> !entry.getValue().firstSeen().isAfter(activeBefore))
+        .max(KeyAge.ORDER)
+        .or(() -> ages.entrySet().stream().min(KeyAge.ORDER))
+        .orElseThrow()
+        .getKey();
+  }
+
+  private SecretKey decodeKey(String encodedKey) {
+    return Keys.hmacShaKeyFor(Decoders.BASE64.decode(encodedKey.trim()));
+  }
+
+  private SecretKey generateKey() {
+    try {
+      return KeyGenerator.getInstance("HmacSHA256").generateKey();
+    } catch (NoSuchAlgorithmException e) {
+      throw new EmployeeException("Issue with generating token", e);
+    }
+  }
+}
@@ -1,74 +1,119 @@
 package com.i2i.ems.util;
 
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
-
-import javax.crypto.KeyGenerator;
-import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
 
 import com.i2i.ems.helper.EmployeeException;
 import com.i2i.ems.helper.UnAuthorizedException;
+import com.i2i.ems.model.EmployeePrincipal;
+import com.i2i.ems.model.Type;
 
 /**
  * <p>
  * Utility class to generate and validate JWT token.
+ * Tokens are signed and verified with the shared {@link JwtKeyset}.
+ * Verified tokens are remembered by their digest until they expire,
+ * so a repeated bearer token is not parsed and verified again.
  * </p>
  */
 @Component
 public class JwtTokenUtil {
 
-  private static final SecretKey JWT_SECRET_KEY;
-  private static final long JWT_TOKEN_VALIDITY = 1000 * 60 * 60; // 1 hour in milliseconds
+  public static final long JWT_TOKEN_VALIDITY = 1000 * 60 * 60; // 1 hour in milliseconds
+  private static final int VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+  private static final String EMPLOYEE_ID_CLAIM = "eid";
+  private static final String USER_TYPE_CLAIM = "type";
+  private static final String BEARER_PREFIX = "Bearer ";
 
-  static {
-    String key;
-    KeyGenerator keyGenerator;
-    try {
-      keyGenerator = KeyGenerator.getInstance("HmacSHA256");
-    } catch (NoSuchAlgorithmException e) {
-      throw new EmployeeException("Issue with generating token", e);
-    }
-    SecretKey secretKey = keyGenerator.generateKey();
-    key = Base64.getEncoder().encodeToString(secretKey.getEncoded());
-    JWT_SECRET_KEY = Keys.hmacShaKeyFor(Decoders.BASE64.decode(key));
+  private final Cache<String, Jws<Claims>> verifiedTokens = Caffeine.newBuilder()
+      .maximumSize(VERIFIED_TOKEN_CACHE_SIZE)
+      .expireAfter(new Expiry<String, Jws<Claims>>() {
+        @Override
+        public long expireAfterCreate(String digest, Jws<Claims> jws, long currentTime) {
+          long remaining = jws.getPayload().getExpiration().getTime() - System.currentTimeMillis();
+          return TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, Jws<Claims> jws, long currentTime, long currentDuration) {
+          return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String digest, Jws<Claims> jws, long currentTime, long currentDuration) {
+          return currentDuration;
+        }
+      })
+      .build();
+
+  private final SecureRandom random = new SecureRandom();
+  private final JwtKeyset keyset;
+  private final JwtParser parser;
+
+  public JwtTokenUtil(JwtKeyset keyset) {
+    this.keyset = keyset;
+    this.parser = Jwts.parser()
+        .keyLocator(new LocatorAdapter<Key>() {
+          @Override
+          protected Key locate(ProtectedHeader header) {
+            return keyset.getVerificationKey(header.getKeyId());
+          }
+        })
+        .build();
   }
 
   /**
    * <p>
-   * Validates the token.
+   * Verifies the token and returns its claims.
+   * The verification key is picked by the kid in the header of the token.
+   * The signature is checked only the first time a token is seen,
+   * later calls with the same token are served from the verified token cache
+   * until it expires or its key leaves the keyset.
    * </p>
    *
-   * @param token Token to be validated.
-   * @return {@link Boolean} True if token is valid, false otherwise.
+   * @param token Token to be verified.
+   * @return {@link Claims} Claims of the verified token.
    * @throws UnAuthorizedException If token is invalid.
    * @throws UnAuthorizedException If token is expired.
    */
-  public static boolean validate(String token) {
+  public Claims verify(String token) {
+    String digest = digest(token);
+    Jws<Claims> jws = verifiedTokens.getIfPresent(digest);
+    if (null != jws && keyset.contains(jws.getHeader().getKeyId())) {
+      return jws.getPayload();
+    }
     try {
-      Jwts.parser()
-          .verifyWith(JWT_SECRET_KEY)
-          .build()
-          .parse(token);
-      return true;
+      jws = parser.parseSignedClaims(token);
     } catch (ExpiredJwtException e) {
       throw new UnAuthorizedException("Token expired");
-    } catch (UnAuthorizedException e) {
-      throw new UnAuthorizedException(e.getMessage());
     } catch (Exception e) {
       throw new UnAuthorizedException("Invalid token");
     }
+    if (null != jws.getPayload().getExpiration()) {
+      verifiedTokens.put(digest, jws);
+    }
+    return jws.getPayload();
   }
 
   /**
@@ -79,18 +124,72 @@ public class JwtTokenUtil {
    * @param username Username to generate token.
    * @return {@link String} Generated token.
    */
-  public static String generateAccessToken(String username) {
+  public String generateAccessToken(String username) {
+    return buildToken(new HashMap<>(), username);
+  }
+
+  /**
+   * <p>
+   * Generates access token that carries the identity of the employee,
+   * so that requests can be authenticated from the token alone.
+   * </p>
+   *
+   * @param id       Id of the employee.
+   * @param username Username to generate token.
+   * @param userType Type of the employee.
+   * @return {@link String} Generated token.
+   */
+  public String generateAccessToken(int id, String username, Type userType) {
     Map<String, Object> claims = new HashMap<>();
+    claims.put(EMPLOYEE_ID_CLAIM, id);
+    claims.put(USER_TYPE_CLAIM, userType.name());
+    return buildToken(claims, username);
+  }
 
+  /**
+   * <p>
+   * Builds and signs a token with the given claims.
+   * </p>
+   *
+   * @param claims   Claims to be added to the token.
+   * @param username Username to generate token.
+   * @return {@link String} Generated token.
+   */
+  private String buildToken(Map<String, Object> claims, String username) {
     return Jwts.builder()
         .claims(claims)
+        .id(generateTokenId())
         .subject(username)
         .issuedAt(new Date(System.currentTimeMillis()))
         .expiration(new Date(System.currentTimeMillis() + JWT_TOKEN_VALIDITY))
-        .signWith(JWT_SECRET_KEY)
+        .header().keyId(keyset.getSigningKid()).and()
+        .signWith(keyset.getSigningKey())
         .compact();
   }
 
+  /**
+   * <p>
+   * Builds the identity of the employee from the claims of a verified token.
+   * </p>
+   *
+   * @param claims Claims of a verified token.
+   * @return {@link EmployeePrincipal} Identity of the employee,
+   *     or null if the token does not carry the identity claims.
+   */
+  public EmployeePrincipal getPrincipal(Claims claims) {
+    Integer id = claims.get(EMPLOYEE_ID_CLAIM, Integer.class);
+    String userType = claims.get(USER_TYPE_CLAIM, String.class);
+    if (null == id || null == userType) {
+      return null;
+    }
+    return EmployeePrincipal.builder()
+        .id(id)
+        .email(claims.getSubject())
+        .userType(Type.valueOf(userType))
+        .isDeleted(false)
+        .build();
+  }
+
   /**
    * <p>
    * Extracts username from the token.
@@ -98,39 +197,62 @@ public class JwtTokenUtil {
    *
    * @param token Token from which username is to be extracted.
    * @return {@link String} Username extracted from the token.
+   * @throws UnAuthorizedException If token is invalid or expired.
    */
-  public static String getUsername(String token) {
-    return extractClaim(token, Claims::getSubject);
+  public String getUsername(String token) {
+    return verify(token).getSubject();
   }
 
   /**
    * <p>
-   * Extracts claim from the token.
+   * Extracts the token from a bearer Authorization header.
    * </p>
    *
-   * @param token Token from which claim is to be extracted.
-   * @param claimsResolver Function to extract claim.
-   * @return {@link T} Claim extracted from the token.
+   * @param header Authorization header of the request.
+   * @return {@link String} Token of the header.
+   * @throws UnAuthorizedException If the header is missing, is not a bearer header or has no token.
    */
-  private static <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-    final Claims claims = extractAllClaims(token);
-    return claimsResolver.apply(claims);
+  public static String getBearerToken(String header) {
+    if (null == header || !header.startsWith(BEARER_PREFIX)) {
+      throw new UnAuthorizedException("Invalid Authorization header");
+    }
+    String token = header.substring(BEARER_PREFIX.length()).trim();
+    if (token.isEmpty()) {
+      throw new UnAuthorizedException("Invalid Authorization header");
+    }
+    return token;
   }
 
   /**
    * <p>
-   * Extracts all claims from the token.
+   * Generates a random, non-zero 64-bit token id in hex, so that revoked ids can be stored compactly.
    * </p>
    *
-   * @param token Token from which claims are to be extracted.
-   * @return {@link Claims} All claims extracted from the token.
+   * @return {@link String} id of a new token.
    */
-  private static Claims extractAllClaims(String token) {
-    return Jwts
-        .parser()
-        .verifyWith(JWT_SECRET_KEY)
-        .build()
-        .parseSignedClaims(token)
-        .getPayload();
+  private String generateTokenId() {
+    long id;
+    do {
+      id = random.nextLong();
+    } while (0 == id);
+    return Long.toHexString(id);
+  }
+
+  /**
+   * <p>
+   * Computes the SHA-256 digest of the token, used as the key of the verified token cache
+   * so that raw tokens are never kept in memory.
+   * </p>
+   *
+   * @param token Token to be digested.
+   * @return {@link String} Base64 encoded digest of the token.
+   */
+  private static String digest(String token) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new EmployeeException("Issue with verifying token", e);
+    }
   }
-}
\ No newline at end of file
+}
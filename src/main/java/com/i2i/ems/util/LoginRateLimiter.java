@@ -0,0 +1,73 @@
+package com.i2i.ems.util;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.i2i.ems.helper.TooManyRequestsException;
+
+/**
+ * <p>
+ * Rate limits login and register attempts by email and by client IP,
+ * before any password hashing is done for them.
+ * </p>
+ * <p>
+ * The client IP is the remote address of the request. Behind the load balancer it is resolved
+ * by the server from the X-Forwarded-For header of requests coming from trusted proxies,
+ * as configured by {@code server.tomcat.remoteip.internal-proxies}, so that clients are not
+ * all limited as the address of the load balancer.
+ * </p>
+ */
+@Component
+public class LoginRateLimiter {
+
+  private static final Logger logger = LogManager.getLogger(LoginRateLimiter.class);
+
+  private final TokenBucketRateLimiter emailLimiter;
+  private final TokenBucketRateLimiter ipLimiter;
+
+  public LoginRateLimiter(@Value("${ems.login.rate-limit.email.capacity:5}") int emailCapacity,
+                          @Value("${ems.login.rate-limit.email.refills-per-minute:5}") int emailRefillsPerMinute,
+                          @Value("${ems.login.rate-limit.ip.capacity:20}") int ipCapacity,
+                          @Value("${ems.login.rate-limit.ip.refills-per-minute:20}") int ipRefillsPerMinute) {
+    this.emailLimiter = new TokenBucketRateLimiter(emailCapacity, emailRefillsPerMinute);
+    this.ipLimiter = new TokenBucketRateLimiter(ipCapacity, ipRefillsPerMinute);
+  }
+
+  /**
+   * <p>
+   * Takes a permit for the attempt from both the email and the client IP buckets.
+   * </p>
+   *
+   * @param email    email the attempt is made for
+   * @param clientIp IP address of the client making the attempt
+   * @throws TooManyRequestsException if either bucket is empty
+   */
+  public void acquire(String email, String clientIp) {
+    long waitNanos = ipLimiter.tryAcquire(clientIp);
+    if (0 == waitNanos && null != email) {
+      waitNanos = emailLimiter.tryAcquire(email.toLowerCase(Locale.ROOT));
+    }
+    if (0 != waitNanos) {
+      logger.warn("Too many login attempts from {}", clientIp);
+      throw new TooManyRequestsException("Too many attempts, please retry later",
+          Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+    }
+  }
+
+  /**
+   * <p>
+   * Evicts the buckets of emails and IPs that have been idle long enough to refill completely.
+   * </p>
+   */
+  @Scheduled(fixedDelayString = "${ems.login.rate-limit.eviction-interval:PT1M}")
+  public void evictIdleBuckets() {
+    emailLimiter.evictIdle();
+    ipLimiter.evictIdle();
+  }
+}
@@ -0,0 +1,264 @@
+package com.i2i.ems.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import com.i2i.ems.model.SkillAssignment;
+
+/**
+ * <p>
+ * In-memory index of the active employees having each skill, kept as one compressed bitmap
+ * of employee ids per skill id. Employees having a combination of skills are found
+ * by intersecting, uniting and subtracting the bitmaps of the skills,
+ * without reading the employees of the skills from the database.
+ * </p>
+ * <p>
+ * Bitmaps are replaced rather than modified, so queries run without locks
+ * while changes are applied one at a time.
+ * </p>
+ * <p>
+ * The index is rebuilt from the database periodically. Between {@link #startLoad()} and
+ * {@link #load(Map)} the employees changed and the skills removed are tracked, so that
+ * the changes made while the rebuilt bitmaps are read are not lost when they are swapped in.
+ * </p>
+ */
+@Component
+public class SkillBitmapIndex {
+
+  private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+  private final Map<Integer, RoaringBitmap> employeesBySkill = new ConcurrentHashMap<>();
+
+  private Set<Integer> changedDuringLoad;
+  private Set<Integer> removedDuringLoad;
+
+  /**
+   * <p>
+   * Starts tracking the employees changed and the skills removed until the next
+   * {@link #load(Map)} or {@link #cancelLoad()}.
+   * </p>
+   */
+  public synchronized void startLoad() {
+    changedDuringLoad = new HashSet<>();
+    removedDuringLoad = new HashSet<>();
+  }
+
+  /**
+   * <p>
+   * Stops tracking the changes of a load which has failed.
+   * </p>
+   */
+  public synchronized void cancelLoad() {
+    changedDuringLoad = null;
+    removedDuringLoad = null;
+  }
+
+  /**
+   * <p>
+   * Replaces the whole index with the given bitmaps.
+   * The skills removed since {@link #startLoad()} are left out of them.
+   * </p>
+   *
+   * @param bitmaps ids of the employees having each skill, by skill id
+   * @return {@link Set<Integer>} ids of the employees changed since {@link #startLoad()},
+   *     whose skills may be missing from the bitmaps and have to be replaced again
+   */
+  public synchronized Set<Integer> load(Map<Integer, RoaringBitmap> bitmaps) {
+    bitmaps.values().forEach(RoaringBitmap::runOptimize);
+    employeesBySkill.clear();
+    employeesBySkill.putAll(bitmaps);
+    if (null != removedDuringLoad) {
+      employeesBySkill.keySet().removeAll(removedDuringLoad);
+    }
+    Set<Integer> changed = null == changedDuringLoad ? Set.of() : changedDuringLoad;
+    cancelLoad();
+    return changed;
+  }
+
+  /**
+   * <p>
+   * Records that the employee has the skill.
+   * </p>
+   *
+   * @param skillId    id of the skill
+   * @param employeeId id of the employee
+   */
+  public synchronized void add(int skillId, int employeeId) {
+    track(employeeId);
+    RoaringBitmap employees = employeesBySkill.getOrDefault(skillId, EMPTY).clone();
+    employees.add(employeeId);
+    employeesBySkill.put(skillId, employees);
+  }
+
+  /**
+   * <p>
+   * Records many skills added to and removed from employees at once.
+   * Each changed bitmap is copied once, however many of its employees change.
+   * Removals are applied before additions.
+   * </p>
+   *
+   * @param added   skills the employees now have
+   * @param removed skills the employees no longer have
+   */
+  public synchronized void update(Collection<SkillAssignment> added, Collection<SkillAssignment> removed) {
+    Map<Integer, RoaringBitmap> changed = new HashMap<>();
+    for (SkillAssignment assignment : removed) {
+      track(assignment.getEmployeeId());
+      copy(changed, assignment.getSkillId()).remove(assignment.getEmployeeId());
+    }
+    for (SkillAssignment assignment : added) {
+      track(assignment.getEmployeeId());
+      copy(changed, assignment.getSkillId()).add(assignment.getEmployeeId());
+    }
+    changed.values().forEach(RoaringBitmap::runOptimize);
+    employeesBySkill.putAll(changed);
+  }
+
+  /**
+   * <p>
+   * Replaces the skills recorded for the employee.
+   * </p>
+   *
+   * @param employeeId id of the employee
+   * @param skillIds   ids of all the skills the employee has
+   */
+  public synchronized void replace(int employeeId, Collection<Integer> skillIds) {
+    track(employeeId);
+    Set<Integer> skills = new HashSet<>(skillIds);
+    for (Map.Entry<Integer, RoaringBitmap> entry : employeesBySkill.entrySet()) {
+      if (!skills.remove(entry.getKey()) && entry.getValue().contains(employeeId)) {
+        RoaringBitmap employees = entry.getValue().clone();
+        employees.remove(employeeId);
+        employeesBySkill.put(entry.getKey(), employees);
+      }
+    }
+    for (Integer skillId : skills) {
+      add(skillId, employeeId);
+    }
+  }
+
+  /**
+   * <p>
+   * Removes the employee from every skill.
+   * </p>
+   *
+   * @param employeeId id of the employee
+   */
+  public void removeEmployee(int employeeId) {
+    replace(employeeId, List.of());
+  }
+
+  /**
+   * <p>
+   * Removes the skill, after it is deleted.
+   * </p>
+   *
+   * @param skillId id of the skill
+   */
+  public synchronized void removeSkill(int skillId) {
+    if (null != removedDuringLoad) {
+      removedDuringLoad.add(skillId);
+    }
+    employeesBySkill.remove(skillId);
+  }
+
+  /**
+   * <p>
+   * Replaces the employees having the skill, after it is restored.
+   * </p>
+   *
+   * @param skillId     id of the skill
+   * @param employeeIds ids of all the employees having the skill
+   */
+  public synchronized void replaceSkill(int skillId, Collection<Integer> employeeIds) {
+    if (null != removedDuringLoad) {
+      removedDuringLoad.remove(skillId);
+      changedDuringLoad.addAll(employeeIds);
+    }
+    RoaringBitmap employees = new RoaringBitmap();
+    employeeIds.forEach(employees::add);
+    employees.runOptimize();
+    employeesBySkill.put(skillId, employees);
+  }
+
+  /**
+   * <p>
+   * Finds the employees having all the skills of the first group, any of the skills
+   * of the second group and none of the skills of the third group.
+   * Empty groups are left out, but at least one of the first two has to be given.
+   * </p>
+   *
+   * @param allOf  ids of the skills every employee has
+   * @param anyOf  ids of the skills of which every employee has at least one
+   * @param noneOf ids of the skills no employee has
+   * @return {@link RoaringBitmap} ids of the matching employees, which must not be modified
+   * @throws IllegalArgumentException if neither skills to have all of nor any of are given
+   */
+  public RoaringBitmap query(Collection<Integer> allOf, Collection<Integer> anyOf, Collection<Integer> noneOf) {
+    if (allOf.isEmpty() && anyOf.isEmpty()) {
+      throw new IllegalArgumentException("Skills to have all of or any of are required");
+    }
+    RoaringBitmap employees = null;
+    if (!allOf.isEmpty()) {
+      employees = FastAggregation.and(bitmaps(allOf));
+    }
+    if (!anyOf.isEmpty()) {
+      RoaringBitmap any = FastAggregation.or(bitmaps(anyOf));
+      employees = null == employees ? any : RoaringBitmap.and(employees, any);
+    }
+    if (!noneOf.isEmpty()) {
+      employees = RoaringBitmap.andNot(employees, FastAggregation.or(bitmaps(noneOf)));
+    }
+    return employees;
+  }
+
+  /**
+   * <p>
+   * Picks the ids of a page out of the ids of the employees, in id order.
+   * </p>
+   *
+   * @param employees ids of the employees
+   * @param offset    number of ids before the page
+   * @param size      maximum number of ids in the page
+   * @return {@link List<Integer>} ids of the page
+   */
+  public static List<Integer> page(RoaringBitmap employees, long offset, int size) {
+    List<Integer> ids = new ArrayList<>(size);
+    if (offset >= employees.getLongCardinality()) {
+      return ids;
+    }
+    PeekableIntIterator iterator = employees.getIntIterator();
+    iterator.advanceIfNeeded(employees.select((int) offset));
+    while (iterator.hasNext() && ids.size() < size) {
+      ids.add(iterator.next());
+    }
+    return ids;
+  }
+
+  private void track(int employeeId) {
+    if (null != changedDuringLoad) {
+      changedDuringLoad.add(employeeId);
+    }
+  }
+
+  private RoaringBitmap copy(Map<Integer, RoaringBitmap> changed, int skillId) {
+    return changed.computeIfAbsent(skillId, id -> employeesBySkill.getOrDefault(id, EMPTY).clone());
+  }
+
+  private RoaringBitmap[] bitmaps(Collection<Integer> skillIds) {
+    return skillIds.stream()
+        .map(skillId -> employeesBySkill.getOrDefault(skillId, EMPTY))
+        .toArray(RoaringBitmap[]::new);
+  }
+}
@@ -0,0 +1,121 @@
+package com.i2i.ems.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.i2i.ems.dto.SkillDto;
+import com.i2i.ems.model.Skill;
+import com.i2i.ems.model.SkillCatalogVersion;
+
+/**
+ * <p>
+ * Catalog of the active skills, kept as an immutable snapshot along with its JSON and entity tag,
+ * so the catalog is served without reading or serializing the skills.
+ * </p>
+ * <p>
+ * The snapshot is replaced as a whole whenever a skill is created, changed or deleted,
+ * reads see either the previous or the new snapshot without locks.
+ * The versions of the skills are kept to tell whether a saved skill is already in the snapshot.
+ * </p>
+ */
+@Component
+public class SkillCatalog {
+
+  /**
+   * <p>
+   * Skills of the catalog along with their versions, JSON and entity tag.
+   * The JSON must not be modified.
+   * </p>
+   */
+  public record Snapshot(List<SkillDto> skills, Map<Integer, Integer> versions, byte[] json, String tag) {
+  }
+
+  private volatile Snapshot snapshot = new Snapshot(List.of(), Map.of(), "[]".getBytes(), tag("[]".getBytes()));
+
+  /**
+   * <p>
+   * Replaces the snapshot with the given skills.
+   * </p>
+   *
+   * @param skills   active skills in id order
+   * @param versions versions of the skills, by id
+   * @param json     JSON array of the skills
+   */
+  public void replace(List<SkillDto> skills, Map<Integer, Integer> versions, byte[] json) {
+    snapshot = new Snapshot(List.copyOf(skills), Map.copyOf(versions), json, tag(json));
+  }
+
+  /**
+   * <p>
+   * Current snapshot of the catalog.
+   * </p>
+   *
+   * @return {@link Snapshot} skills of the catalog along with their JSON and entity tag
+   */
+  public Snapshot getSnapshot() {
+    return snapshot;
+  }
+
+  /**
+   * <p>
+   * Tells whether the snapshot holds the given skills as they are saved.
+   * </p>
+   *
+   * @param skills saved skills
+   * @return boolean true if every skill is in the snapshot with the same version
+   */
+  public boolean isCurrent(Collection<Skill> skills) {
+    Map<Integer, Integer> versions = snapshot.versions();
+    for (Skill skill : skills) {
+      Integer version = versions.get(skill.getId());
+      boolean current = Boolean.TRUE.equals(skill.getIsDeleted())
+          ? null == version
+          : null != version && version == skill.getVersion();
+      if (!current) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * <p>
+   * Tells whether the snapshot holds the skills summed up by the given version.
+   * </p>
+   *
+   * @param version number of the active skills along with the sums of their ids and versions
+   * @return boolean true if the skills of the snapshot add up to the same sums
+   */
+  public boolean isCurrent(SkillCatalogVersion version) {
+    Map<Integer, Integer> versions = snapshot.versions();
+    long idSum = 0;
+    long versionSum = 0;
+    for (Map.Entry<Integer, Integer> entry : versions.entrySet()) {
+      idSum += entry.getKey();
+      versionSum += entry.getValue();
+    }
+    return versions.size() == version.getCount() && idSum == version.getIdSum()
+        && versionSum == version.getVersionSum();
+  }
+
+  /**
+   * <p>
+   * Derives the entity tag of the catalog from the digest of its JSON,
+   * so the tag stays the same across restarts while the skills do not change.
+   * </p>
+   */
+  private static String tag(byte[] json) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+      return "catalog-" + HexFormat.of().formatHex(digest, 0, 16);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package com.i2i.ems.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * Lock-free token bucket rate limiter with one bucket per key.
+ * Each bucket is a single atomic value, the theoretical arrival time of the next permit
+ * (the generic cell rate algorithm), so acquiring a permit is one compare-and-set
+ * and buckets never need a refill task.
+ * Buckets live in a concurrent map, which stripes updates of different keys,
+ * and buckets that have refilled completely are evicted as idle.
+ * </p>
+ */
+public class TokenBucketRateLimiter {
+
+  private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+  private final long emissionIntervalNanos;
+  private final long burstToleranceNanos;
+
+  /**
+   * <p>
+   * Creates a limiter whose buckets hold the given number of permits and refill at the given rate.
+   * </p>
+   *
+   * @param capacity         maximum number of permits a bucket holds
+   * @param refillsPerMinute number of permits added to a bucket every minute
+   */
+  public TokenBucketRateLimiter(int capacity, int refillsPerMinute) {
+    this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / refillsPerMinute;
+    this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+  }
+
+  /**
+   * <p>
+   * Takes a permit from the bucket of the key.
+   * </p>
+   *
+   * @param key key whose bucket is used
+   * @return 0 if a permit was taken, otherwise the number of nanoseconds until one is available
+   */
+  public long tryAcquire(String key) {
+    AtomicLong bucket = buckets.get(key);
+    if (null == bucket) {
+      bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()));
+    }
+    while (true) {
+      long now = System.nanoTime();
+      long arrival = bucket.get();
+      long theoreticalArrival = arrival - now < 0 ? now : arrival;
+      long waitNanos = theoreticalArrival - burstToleranceNanos - now;
+      if (waitNanos > 0) {
+        return waitNanos;
+      }
+      if (bucket.compareAndSet(arrival, theoreticalArrival + emissionIntervalNanos)) {
+        return 0;
+      }
+    }
+  }
+
+  /**
+   * <p>
+   * Removes the buckets that have refilled completely, which behave like new buckets.
+   * </p>
+   */
+  public void evictIdle() {
+    long now = System.nanoTime();
+    buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+  }
+}
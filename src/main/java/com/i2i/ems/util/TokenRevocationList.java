@@ -0,0 +1,303 @@
+package com.i2i.ems.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * <p>
+ * In-memory list of revoked tokens, checked on every authenticated request without a database lookup.
+ * A token is revoked either by its id, on logout, or through its subject, when the employee is deleted,
+ * in which case every token of the subject issued until then is revoked.
+ * </p>
+ * <p>
+ * Revocations are first looked up in a Bloom filter, and only its positives are confirmed
+ * against the exact revocation entries. The Bloom filter is kept in two generations that rotate
+ * every token validity period, so an entry stays in it for at least the lifetime of the tokens
+ * it revokes. Exact entries are dropped once the tokens they revoke have expired.
+ * Token ids are 64-bit values, so exact entries are stored unboxed in an open addressing table,
+ * which keeps a few hundred thousand revocations within a few MB.
+ * </p>
+ * <p>
+ * The list only holds the revocations known to this instance,
+ * the revocations of the other instances are applied by the TokenRevocationService.
+ * </p>
+ */
+@Component
+public class TokenRevocationList {
+
+  private static final Logger logger = LogManager.getLogger(TokenRevocationList.class);
+
+  private final int expectedRevocations;
+  private final double falsePositiveRate;
+  private final ExpiringLongSet revokedTokenIds = new ExpiringLongSet();
+  private final Map<String, Long> revokedSubjects = new ConcurrentHashMap<>();
+  private volatile BloomFilter currentFilter;
+  private volatile BloomFilter previousFilter;
+
+  public TokenRevocationList(@Value("${ems.jwt.revocation.expected-revocations:500000}") int expectedRevocations,
+                             @Value("${ems.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+    this.expectedRevocations = expectedRevocations;
+    this.falsePositiveRate = falsePositiveRate;
+    this.currentFilter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    this.previousFilter = new BloomFilter(expectedRevocations, falsePositiveRate);
+  }
+
+  /**
+   * <p>
+   * Revokes the token with the given claims until it expires.
+   * </p>
+   *
+   * @param claims claims of a verified token
+   */
+  public void revoke(Claims claims) {
+    revoke(claims.getId(), claims.getExpiration());
+  }
+
+  /**
+   * <p>
+   * Revokes the token with the given id until it expires.
+   * </p>
+   *
+   * @param id         id of the token
+   * @param expiration time the token expires at
+   */
+  public void revoke(String id, Date expiration) {
+    long tokenId = parseTokenId(id);
+    if (0 == tokenId) {
+      return;
+    }
+    revokedTokenIds.add(tokenId, expiration.getTime() / 1000);
+    currentFilter.put(tokenId);
+  }
+
+  /**
+   * <p>
+   * Revokes every token of the subject issued until now.
+   * </p>
+   *
+   * @param subject subject whose tokens are revoked, which is the email of the employee
+   */
+  public void revokeSubject(String subject) {
+    revokeSubject(subject, new Date());
+  }
+
+  /**
+   * <p>
+   * Revokes every token of the subject issued until the given time.
+   * </p>
+   *
+   * @param subject   subject whose tokens are revoked, which is the email of the employee
+   * @param revokedAt time the tokens were revoked at
+   */
+  public void revokeSubject(String subject, Date revokedAt) {
+    revokedSubjects.merge(subject, revokedAt.getTime() / 1000, Math::max);
+    currentFilter.put(subjectKey(subject));
+  }
+
+  /**
+   * <p>
+   * Checks whether the token with the given claims is revoked.
+   * </p>
+   *
+   * @param claims claims of a verified token
+   * @return true if the token is revoked
+   */
+  public boolean isRevoked(Claims claims) {
+    long tokenId = parseTokenId(claims.getId());
+    if (0 != tokenId && mightContain(tokenId)
+        && revokedTokenIds.contains(tokenId, System.currentTimeMillis() / 1000)) {
+      return true;
+    }
+    String subject = claims.getSubject();
+    if (null != subject && mightContain(subjectKey(subject))) {
+      Long revokedAt = revokedSubjects.get(subject);
+      Date issuedAt = claims.getIssuedAt();
+      return null != revokedAt && null != issuedAt && issuedAt.getTime() / 1000 <= revokedAt;
+    }
+    return false;
+  }
+
+  /**
+   * <p>
+   * Starts a new Bloom filter generation and drops the revocations whose tokens have expired.
+   * </p>
+   */
+  @Scheduled(fixedRate = JwtTokenUtil.JWT_TOKEN_VALIDITY, initialDelay = JwtTokenUtil.JWT_TOKEN_VALIDITY)
+  public void rotate() {
+    previousFilter = currentFilter;
+    currentFilter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    long nowSeconds = System.currentTimeMillis() / 1000;
+    long validitySeconds = JwtTokenUtil.JWT_TOKEN_VALIDITY / 1000;
+    revokedTokenIds.removeExpired(nowSeconds);
+    revokedSubjects.values().removeIf(revokedAt -> revokedAt + validitySeconds < nowSeconds);
+    logger.info("Token revocation list rotated, {} token ids and {} subjects revoked",
+        revokedTokenIds.size(), revokedSubjects.size());
+  }
+
+  private boolean mightContain(long key) {
+    return currentFilter.mightContain(key) || previousFilter.mightContain(key);
+  }
+
+  private static long parseTokenId(String id) {
+    if (null == id) {
+      return 0;
+    }
+    try {
+      return Long.parseUnsignedLong(id, 16);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  /**
+   * <p>
+   * 64-bit FNV-1a hash of the subject, used as its key in the Bloom filter.
+   * </p>
+   */
+  private static long subjectKey(String subject) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : subject.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  /**
+   * <p>
+   * Lock-free Bloom filter over 64-bit keys.
+   * </p>
+   */
+  private static class BloomFilter {
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilter(int expectedInsertions, double falsePositiveRate) {
+      long optimalBits = (long) (-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+      this.bits = new AtomicLongArray((int) Math.max(1, (optimalBits + 63) / 64));
+      this.bitCount = (long) bits.length() * 64;
+      this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    void put(long key) {
+      long hash1 = mix(key);
+      long hash2 = mix(hash1) | 1;
+      for (int i = 0; i < hashCount; i++) {
+        long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+        long mask = 1L << bit;
+        bits.accumulateAndGet((int) (bit >>> 6), mask, (word, m) -> word | m);
+      }
+    }
+
+    boolean mightContain(long key) {
+      long hash1 = mix(key);
+      long hash2 = mix(hash1) | 1;
+      for (int i = 0; i < hashCount; i++) {
+        long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+        if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static long mix(long key) {
+      key = (key ^ (key >>> 30)) * 0xbf58476d1ce4e5b9L;
+      key = (key ^ (key >>> 27)) * 0x94d049bb133111ebL;
+      return key ^ (key >>> 31);
+    }
+  }
+
+  /**
+   * <p>
+   * Open addressing set of non-zero 64-bit keys, each with an expiry in seconds
+   * since the set was created, so that a slot takes 12 bytes.
+   * Only consulted on Bloom filter positives and written on revocation, so it is simply synchronized.
+   * </p>
+   */
+  private static class ExpiringLongSet {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final long baseSeconds = System.currentTimeMillis() / 1000;
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int[] expiries = new int[INITIAL_CAPACITY];
+    private int size;
+
+    synchronized void add(long key, long expirySeconds) {
+      if ((size + 1) * 4L > keys.length * 3L) {
+        resize(keys.length * 2, Integer.MIN_VALUE);
+      }
+      int slot = slot(keys, key);
+      if (keys[slot] == 0) {
+        keys[slot] = key;
+        size++;
+      }
+      expiries[slot] = Math.max(expiries[slot], relative(expirySeconds));
+    }
+
+    synchronized boolean contains(long key, long nowSeconds) {
+      int slot = slot(keys, key);
+      return keys[slot] == key && expiries[slot] >= relative(nowSeconds);
+    }
+
+    synchronized void removeExpired(long nowSeconds) {
+      int now = relative(nowSeconds);
+      int live = 0;
+      for (int i = 0; i < keys.length; i++) {
+        if (keys[i] != 0 && expiries[i] >= now) {
+          live++;
+        }
+      }
+      int capacity = INITIAL_CAPACITY;
+      while (capacity * 3L < live * 4L) {
+        capacity *= 2;
+      }
+      resize(capacity, now);
+    }
+
+    synchronized int size() {
+      return size;
+    }
+
+    private int relative(long epochSeconds) {
+      return (int) (epochSeconds - baseSeconds);
+    }
+
+    private void resize(int capacity, int now) {
+      long[] oldKeys = keys;
+      int[] oldExpiries = expiries;
+      keys = new long[capacity];
+      expiries = new int[capacity];
+      size = 0;
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldKeys[i] != 0 && oldExpiries[i] >= now) {
+          int slot = slot(keys, oldKeys[i]);
+          keys[slot] = oldKeys[i];
+          expiries[slot] = oldExpiries[i];
+          size++;
+        }
+      }
+    }
+
+    private static int slot(long[] table, long key) {
+      int mask = table.length - 1;
+      int slot = (int) BloomFilter.mix(key) & mask;
+      while (table[slot] != 0 && table[slot] != key) {
+        slot = (slot + 1) & mask;
+      }
+      return slot;
+    }
+  }
+}
@@ -0,0 +1,290 @@
+package com.i2i.ems.controller;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.i2i.ems.model.Account;
+import com.i2i.ems.model.Employee;
+import com.i2i.ems.model.Role;
+import com.i2i.ems.model.Skill;
+import com.i2i.ems.model.Type;
+import com.i2i.ems.repository.EmployeeRepository;
+import com.i2i.ems.repository.RoleRepository;
+import com.i2i.ems.repository.SkillRepository;
+import com.i2i.ems.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of statements each endpoint runs, with the second-level cache empty,
+ * so that lazy loads added to the services, mappers or controllers are noticed.
+ * The session stays open for the whole request, as it does in the application.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:ems-controller;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "logging.file.name=target/test.log",
+    "ems.password.bcrypt.min-strength=4",
+    "ems.password.bcrypt.max-strength=4"
+})
+@AutoConfigureMockMvc
+class EmployeeControllerTest {
+
+  private static final String EMAIL = "employee@i2i.com";
+  private static final String PASSWORD = "Passw0rd!x";
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private EmployeeRepository employeeRepository;
+
+  @Autowired
+  private RoleRepository roleRepository;
+
+  @Autowired
+  private SkillRepository skillRepository;
+
+  @Autowired
+  private PasswordEncoder passwordEncoder;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private UserService userService;
+
+  private Statistics statistics;
+  private int employeeId;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    employeeId = transactionTemplate.execute(status -> {
+      Role role = roleRepository.save(Role.builder()
+          .designation("Engineer").level("L1").department("IT").isDeleted(false).build());
+      Skill java = skillRepository.save(Skill.builder()
+          .name("Java").category("Programming").institute("i2i").isDeleted(false).build());
+      Skill sql = skillRepository.save(Skill.builder()
+          .name("SQL").category("Database").institute("i2i").isDeleted(false).build());
+      return employeeRepository.save(Employee.builder()
+          .UUID(UUID.randomUUID().toString())
+          .name("Employee")
+          .dob(new Date(0))
+          .email(EMAIL)
+          .mobileNo(9000000000L)
+          .userType(Type.EMPLOYEE)
+          .password(passwordEncoder.encode(PASSWORD))
+          .isDeleted(false)
+          .account(Account.builder().bankName("Bank").accountNumber("ACC1")
+              .ifscCode("IFSC0001").isDeleted(false).build())
+          .role(role)
+          .skills(List.of(java, sql))
+          .build()).getId();
+    });
+    mockMvc.perform(authenticated(get("/v1/employees/{id}", employeeId))).andExpect(status().isOk());
+    SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    sessionFactory.getCache().evictAllRegions();
+    statistics = sessionFactory.getStatistics();
+    statistics.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    employeeRepository.deleteAll();
+    roleRepository.deleteAll();
+    skillRepository.deleteAll();
+  }
+
+  @Test
+  void getEmployeeTagsAndLoadsTheDetailsWithTwoStatements() throws Exception {
+    mockMvc.perform(authenticated(get("/v1/employees/{id}", employeeId)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.skills.length()").value(2));
+    assertEquals(2, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void getEmployeeAnswersAKnownTagWithOneStatement() throws Exception {
+    String tag = mockMvc.perform(authenticated(get("/v1/employees/{id}", employeeId)))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    statistics.clear();
+
+    mockMvc.perform(authenticated(get("/v1/employees/{id}", employeeId)).header(HttpHeaders.IF_NONE_MATCH, tag))
+        .andExpect(status().isNotModified());
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void getAllEmployeesReadsThePageWithOneStatement() throws Exception {
+    mockMvc.perform(authenticated(get("/v1/employees")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(1));
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void getEmployeeAssociationsLoadOnlyTheAssociation() throws Exception {
+    mockMvc.perform(authenticated(get("/v1/employees/{id}/skills", employeeId)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2));
+    assertEquals(2, statistics.getPrepareStatementCount());
+
+    statistics.clear();
+    mockMvc.perform(authenticated(get("/v1/employees/{id}/accounts", employeeId)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.accountNumber").value("ACC1"));
+    assertEquals(2, statistics.getPrepareStatementCount());
+
+    statistics.clear();
+    mockMvc.perform(authenticated(get("/v1/employees/{id}/roles", employeeId)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.designation").value("Engineer"));
+    assertEquals(2, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void updateEmployeeReadsTheSavedDetailsOnce() throws Exception {
+    String employee = mockMvc.perform(authenticated(get("/v1/employees/{id}", employeeId)))
+        .andReturn().getResponse().getContentAsString();
+    statistics.clear();
+
+    mockMvc.perform(authenticated(put("/v1/employees"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(employee.replace("\"Employee\"", "\"Renamed Employee\"")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.name").value("Renamed Employee"))
+        .andExpect(jsonPath("$.skills.length()").value(2));
+    assertEquals(13, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void fieldsCannotBePickedAlongWithACursor() throws Exception {
+    mockMvc.perform(authenticated(get("/v1/employees").param("cursor", "").param("fields", "name")))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string("Fields cannot be picked along with a cursor"));
+    mockMvc.perform(authenticated(get("/v1/employees").param("cursor", "")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(1));
+  }
+
+  @Test
+  void getEmployeesPicksTheFieldsOfTheGivenIds() throws Exception {
+    mockMvc.perform(authenticated(get("/v1/employees")
+            .param("ids", employeeId + "," + (employeeId + 100))
+            .param("fields", "name,role.designation")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.employees.length()").value(1))
+        .andExpect(jsonPath("$.employees[0].name").value("Employee"))
+        .andExpect(jsonPath("$.employees[0].role.designation").value("Engineer"))
+        .andExpect(jsonPath("$.employees[0].email").doesNotExist())
+        .andExpect(jsonPath("$.employees[0].skills").doesNotExist())
+        .andExpect(jsonPath("$.missing[0]").value(employeeId + 100));
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void assignSkillsCountsAndVersionsOnlyTheRowsInserted() throws Exception {
+    transactionTemplate.executeWithoutResult(status ->
+        employeeRepository.findById(employeeId).orElseThrow().setUserType(Type.ADMIN));
+    userService.evictUser(employeeId);
+    int version = employeeRepository.findVersionsById(employeeId).getVersion();
+    String assignment = "{\"assign\":[{\"employeeId\":" + employeeId + ",\"skill\":\"Java\"},"
+        + "{\"employeeId\":" + employeeId + ",\"skill\":\"Go\"}]}";
+
+    mockMvc.perform(authenticated(post("/v1/employees/skills"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(assignment))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.assigned").value(1))
+        .andExpect(jsonPath("$.createdSkills").value(1));
+    assertEquals(version + 1, employeeRepository.findVersionsById(employeeId).getVersion());
+
+    mockMvc.perform(authenticated(post("/v1/employees/skills"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(assignment))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.assigned").value(0));
+    assertEquals(version + 1, employeeRepository.findVersionsById(employeeId).getVersion());
+  }
+
+  @Test
+  void addSkillTwiceAssignsItOnce() throws Exception {
+    int version = employeeRepository.findVersionsById(employeeId).getVersion();
+    for (int attempt = 0; attempt < 2; attempt++) {
+      mockMvc.perform(authenticated(post("/v1/employees/{id}/skills", employeeId))
+              .contentType(MediaType.APPLICATION_JSON)
+              .content("{\"name\":\"Go\"}"))
+          .andExpect(status().isCreated())
+          .andExpect(jsonPath("$.name").value("Go"));
+    }
+    mockMvc.perform(authenticated(post("/v1/employees/{id}/skills", employeeId))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"name\":\"Java\"}"))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.name").value("Java"));
+
+    mockMvc.perform(authenticated(get("/v1/employees/{id}/skills", employeeId)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(3));
+    assertEquals(version + 1, employeeRepository.findVersionsById(employeeId).getVersion());
+  }
+
+  @Test
+  void streamedPagesMatchTheSerializedPage() throws Exception {
+    assertPageMatchesPageImpl(get("/v1/employees"));
+    assertPageMatchesPageImpl(get("/v1/employees").param("fields", "name,email"));
+    assertPageMatchesPageImpl(get("/v1/employees").param("page", "1"));
+  }
+
+  private void assertPageMatchesPageImpl(MockHttpServletRequestBuilder request) throws Exception {
+    JsonNode page = objectMapper.readTree(mockMvc.perform(authenticated(request))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString());
+    List<JsonNode> content = new ArrayList<>();
+    page.get("content").forEach(content::add);
+    assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(new PageImpl<>(content))), page);
+  }
+
+  private static MockHttpServletRequestBuilder authenticated(MockHttpServletRequestBuilder request) {
+    return request.with(httpBasic(EMAIL, PASSWORD));
+  }
+}
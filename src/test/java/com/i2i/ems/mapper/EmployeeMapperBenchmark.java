@@ -0,0 +1,122 @@
+package com.i2i.ems.mapper;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.i2i.ems.dto.EmployeeDto;
+import com.i2i.ems.model.Account;
+import com.i2i.ems.model.Employee;
+import com.i2i.ems.model.EmployeeSummary;
+import com.i2i.ems.model.Role;
+import com.i2i.ems.model.Skill;
+
+/**
+ * <p>
+ * Benchmark of mapping 10k employees to DTOs, along with the age computation
+ * the mappers used before, which formatted both dates and parsed them back.
+ * Run with the GC profiler to see the bytes allocated per operation:
+ * </p>
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.i2i.ems.mapper.EmployeeMapperBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeMapperBenchmark {
+
+  private static final int EMPLOYEES = 10_000;
+
+  private List<Employee> employees;
+  private List<EmployeeSummary> summaries;
+
+  @Setup
+  public void setUp() {
+    employees = new ArrayList<>(EMPLOYEES);
+    summaries = new ArrayList<>(EMPLOYEES);
+    List<Skill> skills = List.of(
+        Skill.builder().id(1).name("Java").category("Backend").build(),
+        Skill.builder().id(2).name("Kafka").category("Backend").build(),
+        Skill.builder().id(3).name("React").category("Frontend").build());
+    for (int i = 0; i < EMPLOYEES; i++) {
+      Date dob = Date.from(LocalDate.of(1960 + i % 40, 1 + i % 12, 1 + i % 28)
+          .atStartOfDay(ZoneId.systemDefault()).toInstant());
+      employees.add(Employee.builder()
+          .id(i)
+          .UUID("uuid-" + i)
+          .name("Employee " + i)
+          .email("employee" + i + "@i2i.com")
+          .mobileNo(9_000_000_000L + i)
+          .dob(dob)
+          .role(Role.builder().id(i % 10).designation("Developer").build())
+          .account(Account.builder().id(i).accountNumber(String.valueOf(100_000 + i)).build())
+          .skills(skills.subList(0, 1 + i % 3))
+          .build());
+      summaries.add(new EmployeeSummary(i, "uuid-" + i, "Employee " + i, "employee" + i + "@i2i.com",
+          9_000_000_000L + i, dob));
+    }
+  }
+
+  @Benchmark
+  public void modelToDto(Blackhole blackhole) {
+    for (Employee employee : employees) {
+      blackhole.consume(EmployeeMapper.modelToDto(employee));
+    }
+  }
+
+  @Benchmark
+  public void summaryToDto(Blackhole blackhole) {
+    for (EmployeeSummary summary : summaries) {
+      blackhole.consume(EmployeeMapper.summaryToDto(summary));
+    }
+  }
+
+  @Benchmark
+  public void summaryToDtoWithFormattedAge(Blackhole blackhole) {
+    for (EmployeeSummary summary : summaries) {
+      EmployeeDto employee = EmployeeMapper.summaryToDto(summary);
+      employee.setAge(formattedYearsBetween(summary.getDob(), new Date()));
+      blackhole.consume(employee);
+    }
+  }
+
+  private static int formattedYearsBetween(Date date1, Date date2) {
+    DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+    return Period.between(LocalDate.parse(dateFormat.format(date1)),
+        LocalDate.parse(dateFormat.format(date2))).getYears();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(EmployeeMapperBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build()).run();
+  }
+}
@@ -0,0 +1,254 @@
+package com.i2i.ems.repository;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.i2i.ems.dto.EmployeeFields;
+import com.i2i.ems.model.Account;
+import com.i2i.ems.model.Employee;
+import com.i2i.ems.model.EmployeeSearchRow;
+import com.i2i.ems.model.EmployeeSummary;
+import com.i2i.ems.model.EmployeeVersions;
+import com.i2i.ems.model.Role;
+import com.i2i.ems.model.Skill;
+import com.i2i.ems.model.Type;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class EmployeeRepositoryTest {
+
+  private static final int EMPLOYEE_COUNT = 5;
+  private static final LocalDate TODAY = LocalDate.of(2024, 1, 1);
+
+  @Autowired
+  private EmployeeRepository employeeRepository;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+  private int employeeId;
+
+  @BeforeEach
+  void setUp() {
+    Role role = entityManager.persist(Role.builder()
+        .designation("Engineer").level("L1").department("IT").isDeleted(false).build());
+    Skill java = entityManager.persist(Skill.builder()
+        .name("Java").category("Programming").institute("i2i").isDeleted(false).build());
+    Skill sql = entityManager.persist(Skill.builder()
+        .name("SQL").category("Database").institute("i2i").isDeleted(false).build());
+    for (int i = 0; i <= EMPLOYEE_COUNT; i++) {
+      int id = entityManager.persistAndGetId(Employee.builder()
+          .UUID(UUID.randomUUID().toString())
+          .name("Employee " + i)
+          .dob(new Date(0))
+          .email("employee" + i + "@i2i.com")
+          .mobileNo(9000000000L + i)
+          .userType(Type.EMPLOYEE)
+          .password("password")
+          .isDeleted(i == EMPLOYEE_COUNT)
+          .account(Account.builder().bankName("Bank").accountNumber("ACC" + i)
+              .ifscCode("IFSC0001").isDeleted(false).build())
+          .role(role)
+          .skills(List.of(java, sql))
+          .build(), Integer.class);
+      if (0 == i) {
+        employeeId = id;
+      }
+    }
+    entityManager.flush();
+    entityManager.clear();
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void findSummariesByIsDeletedFalseLoadsEachPageWithOneStatement() {
+    List<EmployeeSummary> firstPage = employeeRepository.findSummariesByIsDeletedFalse(PageRequest.of(0, 3));
+    assertEquals(3, firstPage.size());
+    assertEquals(1, statistics.getPrepareStatementCount());
+
+    List<EmployeeSummary> lastPage = employeeRepository.findSummariesByIsDeletedFalse(PageRequest.of(1, 3));
+    assertEquals(EMPLOYEE_COUNT - 3, lastPage.size());
+    assertEquals(2, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+
+  @Test
+  void streamSummariesByIsDeletedFalseStreamsOnlyThePage() {
+    try (Stream<EmployeeSummary> page = employeeRepository.streamSummariesByIsDeletedFalse(
+        PageRequest.of(1, 3, Sort.by("id")))) {
+      List<EmployeeSummary> employees = page.toList();
+      assertEquals(EMPLOYEE_COUNT - 3, employees.size());
+      assertTrue(employees.get(0).getId() < employees.get(1).getId());
+    }
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+
+  @Test
+  void findSummariesAfterSeeksPastTheLastIdInIdOrder() {
+    List<EmployeeSummary> firstPage = employeeRepository.findSummariesAfter(0, Limit.of(3));
+    assertEquals(3, firstPage.size());
+    assertTrue(firstPage.get(0).getId() < firstPage.get(1).getId());
+
+    List<EmployeeSummary> lastPage = employeeRepository.findSummariesAfter(firstPage.get(2).getId(), Limit.of(3));
+    assertEquals(EMPLOYEE_COUNT - 3, lastPage.size());
+    assertTrue(firstPage.get(2).getId() < lastPage.get(0).getId());
+    assertEquals(2, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void findByIdAndIsDeletedFalseLoadsNoAssociations() {
+    Employee employee = employeeRepository.findByIdAndIsDeletedFalse(employeeId);
+    assertFalse(Hibernate.isInitialized(employee.getAccount()));
+    assertFalse(Hibernate.isInitialized(employee.getRole()));
+    assertFalse(Hibernate.isInitialized(employee.getSkills()));
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void findDetailsByIdAndIsDeletedFalseLoadsAllAssociationsWithOneStatement() {
+    Employee employee = employeeRepository.findDetailsByIdAndIsDeletedFalse(employeeId);
+    assertEquals("ACC0", employee.getAccount().getAccountNumber());
+    assertEquals("Engineer", employee.getRole().getDesignation());
+    assertEquals(2, employee.getSkills().size());
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void findDetailsByIdInAndIsDeletedFalseLoadsAllTheEmployeesWithOneStatement() {
+    List<Employee> employees = employeeRepository.findDetailsByIdInAndIsDeletedFalse(
+        List.of(employeeId + 1, employeeId, employeeId + EMPLOYEE_COUNT, Integer.MAX_VALUE));
+    assertEquals(2, employees.size());
+    for (Employee employee : employees) {
+      assertTrue(Hibernate.isInitialized(employee.getAccount()));
+      assertEquals("Engineer", employee.getRole().getDesignation());
+      assertEquals(2, employee.getSkills().size());
+    }
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void findWithAccountByIdAndIsDeletedFalseLoadsOnlyTheAccount() {
+    Employee employee = employeeRepository.findWithAccountByIdAndIsDeletedFalse(employeeId);
+    assertEquals("ACC0", employee.getAccount().getAccountNumber());
+    assertFalse(Hibernate.isInitialized(employee.getRole()));
+    assertFalse(Hibernate.isInitialized(employee.getSkills()));
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void findWithRoleByIdAndIsDeletedFalseLoadsOnlyTheRole() {
+    Employee employee = employeeRepository.findWithRoleByIdAndIsDeletedFalse(employeeId);
+    assertEquals("Engineer", employee.getRole().getDesignation());
+    assertFalse(Hibernate.isInitialized(employee.getAccount()));
+    assertFalse(Hibernate.isInitialized(employee.getSkills()));
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void findWithSkillsByIdAndIsDeletedFalseLoadsOnlyTheSkills() {
+    Employee employee = employeeRepository.findWithSkillsByIdAndIsDeletedFalse(employeeId);
+    assertEquals(2, employee.getSkills().size());
+    assertFalse(Hibernate.isInitialized(employee.getAccount()));
+    assertFalse(Hibernate.isInitialized(employee.getRole()));
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void findSearchRowsByIdInReturnsOneRowPerActiveSkill() {
+    List<EmployeeSearchRow> rows = employeeRepository.findSearchRowsByIdIn(List.of(employeeId));
+    assertEquals(2, rows.size());
+    assertEquals("IT", rows.get(0).getDepartment());
+    assertEquals(List.of("Java", "SQL"), rows.stream().map(EmployeeSearchRow::getSkill).sorted().toList());
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void findSearchRowsBetweenSkipsDeletedEmployees() {
+    assertEquals(2 * EMPLOYEE_COUNT, employeeRepository.findSearchRowsBetween(0, Integer.MAX_VALUE).size());
+  }
+
+  @Test
+  void findVersionsByIdChangesTheTagsOfTheChangedEntityOnly() {
+    EmployeeVersions before = employeeRepository.findVersionsById(employeeId);
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+
+    Employee employee = employeeRepository.findWithAccountByIdAndIsDeletedFalse(employeeId);
+    employee.getAccount().setBankName("Other Bank");
+    entityManager.flush();
+    entityManager.clear();
+
+    EmployeeVersions after = employeeRepository.findVersionsById(employeeId);
+    assertNotEquals(before.accountTag(), after.accountTag());
+    assertNotEquals(before.employeeTag(TODAY), after.employeeTag(TODAY));
+    assertEquals(before.roleTag(), after.roleTag());
+    assertEquals(before.skillsTag(), after.skillsTag());
+  }
+
+  @Test
+  void employeeTagChangesWithTheDateTheAgeIsComputedAgainst() {
+    EmployeeVersions versions = employeeRepository.findVersionsById(employeeId);
+    assertNotEquals(versions.employeeTag(TODAY), versions.employeeTag(TODAY.plusDays(1)));
+  }
+
+  @Test
+  void findVersionsByIdSkipsDeletedEmployees() {
+    assertNull(employeeRepository.findVersionsById(employeeId + EMPLOYEE_COUNT));
+  }
+
+  @Test
+  void findFieldsByIdInReadsOnlyThePickedFieldsWithoutLoadingEntities() {
+    List<Map<String, Object>> employees = employeeRepository.findFieldsByIdIn(List.of(employeeId),
+        EmployeeFields.of("role.designation,name,id", EmployeeFields.ASSOCIATIONS.keySet()));
+    assertEquals(List.of(Map.of("id", employeeId, "name", "Employee 0", "role", Map.of("designation", "Engineer"))),
+        employees);
+    assertEquals(List.of("id", "name", "role"), List.copyOf(employees.get(0).keySet()));
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+
+  @Test
+  void findFieldsByIsDeletedFalseReadsTheSkillsOfThePageWithOneMoreStatement() {
+    List<Map<String, Object>> employees = employeeRepository.findFieldsByIsDeletedFalse(PageRequest.of(1, 3),
+        EmployeeFields.of("email,skills", Set.of("skills")));
+    assertEquals(EMPLOYEE_COUNT - 3, employees.size());
+    assertEquals("employee3@i2i.com", employees.get(0).get("email"));
+    assertEquals(List.of("Java", "SQL"), ((List<?>) employees.get(0).get("skills")).stream()
+        .map(skill -> ((Map<?, ?>) skill).get("name"))
+        .toList());
+    assertEquals(2, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+}
@@ -0,0 +1,157 @@
+package com.i2i.ems.repository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
+import com.typesafe.config.ConfigFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.i2i.ems.model.Employee;
+import com.i2i.ems.model.Skill;
+import com.i2i.ems.model.SkillCatalogVersion;
+import com.i2i.ems.model.Type;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs without a surrounding transaction, since cached query results are only used
+ * once the changes to their tables are committed.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SkillRepositoryTest {
+
+  @Autowired
+  private SkillRepository skillRepository;
+
+  @Autowired
+  private EmployeeRepository employeeRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private Statistics statistics;
+  private int employeeId;
+
+  @BeforeEach
+  void setUp() {
+    employeeId = transactionTemplate.execute(status -> {
+      Skill java = skillRepository.save(Skill.builder()
+          .name("Java").category("Programming").institute("i2i").isDeleted(false).build());
+      Skill sql = skillRepository.save(Skill.builder()
+          .name("SQL").category("Database").institute("i2i").isDeleted(false).build());
+      return employeeRepository.save(Employee.builder()
+          .name("Employee")
+          .dob(new Date(0))
+          .email("employee@i2i.com")
+          .mobileNo(9000000000L)
+          .userType(Type.EMPLOYEE)
+          .password("password")
+          .isDeleted(false)
+          .skills(List.of(java, sql))
+          .build()).getId();
+    });
+    entityManagerFactory.getCache().evictAll();
+    entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    employeeRepository.deleteAll();
+    skillRepository.deleteAll();
+  }
+
+  @Test
+  void findByNameIsServedFromTheCacheAfterTheFirstLookup() {
+    assertEquals("Java", skillRepository.findByName("Java").getName());
+    assertEquals(1, statistics.getPrepareStatementCount());
+
+    assertEquals("Java", skillRepository.findByName("Java").getName());
+    assertTrue(skillRepository.existsByName("SQL"));
+    assertTrue(skillRepository.existsByName("SQL"));
+    assertEquals(2, statistics.getPrepareStatementCount());
+    assertEquals(2, statistics.getQueryCacheHitCount());
+  }
+
+  @Test
+  void findByNameMissesTheCacheAfterTheSkillTableChanges() {
+    skillRepository.findByName("Java");
+    skillRepository.save(Skill.builder()
+        .name("Go").category("Programming").institute("i2i").isDeleted(false).build());
+    statistics.clear();
+
+    skillRepository.findByName("Java");
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void findByNameInOrderByIdResolvesManyNamesWithOneStatement() {
+    assertEquals(List.of("Java", "SQL"), skillRepository.findByNameInOrderById(List.of("SQL", "Java", "Go")).stream()
+        .map(Skill::getName)
+        .toList());
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void employeeSkillsAreServedFromTheCollectionCache() {
+    loadSkillNames();
+    statistics.clear();
+
+    assertEquals(List.of("Java", "SQL"), loadSkillNames());
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(1, statistics.getCollectionStatistics(Employee.class.getName() + ".skills").getCacheHitCount());
+  }
+
+  @Test
+  void findCatalogVersionChangesWithTheActiveSkills() {
+    SkillCatalogVersion before = skillRepository.findCatalogVersion();
+    assertEquals(2, before.getCount());
+
+    Skill java = skillRepository.findByName("Java");
+    java.setIsDeleted(true);
+    skillRepository.save(java);
+    SkillCatalogVersion after = skillRepository.findCatalogVersion();
+    assertEquals(1, after.getCount());
+    assertNotEquals(before.getIdSum(), after.getIdSum());
+  }
+
+  @Test
+  void cachedRegionsExpireForChangesMadeOnOtherNodes() {
+    for (String region : List.of("role", "skill", "employee-skills", "default-query-results-region")) {
+      CaffeineConfiguration<Object, Object> configuration =
+          TypesafeConfigurator.<Object, Object>from(ConfigFactory.load(), region).orElseThrow();
+      assertEquals(TimeUnit.SECONDS.toNanos(30), configuration.getExpireAfterWrite().orElseThrow());
+    }
+  }
+
+  private List<String> loadSkillNames() {
+    return transactionTemplate.execute(status -> employeeRepository.findByIdAndIsDeletedFalse(employeeId)
+        .getSkills().stream()
+        .map(Skill::getName)
+        .sorted()
+        .toList());
+  }
+}
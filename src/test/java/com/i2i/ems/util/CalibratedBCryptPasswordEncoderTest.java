@@ -0,0 +1,25 @@
+package com.i2i.ems.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalibratedBCryptPasswordEncoderTest {
+
+  private final CalibratedBCryptPasswordEncoder encoder = CalibratedBCryptPasswordEncoder.calibrate(Long.MAX_VALUE, 5, 5);
+
+  @Test
+  void upgradeEncodingOnlyRaisesTheCost() {
+    assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password")));
+    assertFalse(encoder.upgradeEncoding(encoder.encode("password")));
+    assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password")));
+  }
+
+  @Test
+  void upgradeEncodingIgnoresOtherEncodings() {
+    assertFalse(encoder.upgradeEncoding(null));
+    assertFalse(encoder.upgradeEncoding("plain"));
+  }
+}
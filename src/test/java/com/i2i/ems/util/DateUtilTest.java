@@ -0,0 +1,47 @@
+package com.i2i.ems.util;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DateUtilTest {
+
+  @Test
+  void yearsBetweenCountsCompletedYears() {
+    LocalDate dob = LocalDate.of(1990, 6, 16);
+
+    assertEquals(33, DateUtil.getYearsBetween(dob, LocalDate.of(2024, 6, 15)));
+    assertEquals(34, DateUtil.getYearsBetween(dob, LocalDate.of(2024, 6, 16)));
+    assertEquals(3, DateUtil.getYearsBetween(LocalDate.of(2020, 2, 29), LocalDate.of(2024, 2, 28)));
+    assertEquals(4, DateUtil.getYearsBetween(LocalDate.of(2020, 2, 29), LocalDate.of(2024, 2, 29)));
+    assertEquals(-3, DateUtil.getYearsBetween(LocalDate.of(2030, 1, 1), LocalDate.of(2026, 10, 18)));
+    assertEquals(-1, DateUtil.getYearsBetween(null, LocalDate.of(2024, 6, 15)));
+    assertEquals(-1, DateUtil.getAge(null));
+  }
+
+  @Test
+  void toLocalDateConvertsInTheDefaultZone() {
+    LocalDate date = LocalDate.of(1990, 6, 16);
+
+    assertEquals(date, DateUtil.toLocalDate(Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant())));
+    assertEquals(date, DateUtil.toLocalDate(java.sql.Date.valueOf(date)));
+  }
+
+  @Test
+  void todayRollsAtMidnight() {
+    ZoneId zone = ZoneId.systemDefault();
+    long midnight = LocalDate.of(2024, 6, 16).atStartOfDay(zone).toInstant().toEpochMilli();
+
+    LocalDate before = DateUtil.today(midnight - 1);
+    assertEquals(LocalDate.of(2024, 6, 15), before);
+    assertSame(before, DateUtil.today(midnight - 60_000));
+    assertEquals(LocalDate.of(2024, 6, 16), DateUtil.today(midnight));
+    assertEquals(LocalDate.of(2024, 6, 15), DateUtil.today(midnight - 1));
+    assertEquals(LocalDate.now(zone), DateUtil.today());
+  }
+}
@@ -0,0 +1,113 @@
+package com.i2i.ems.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.i2i.ems.dto.EmployeeDto;
+import com.i2i.ems.mapper.EmployeeMapper;
+import com.i2i.ems.model.EmployeeSummary;
+
+/**
+ * <p>
+ * Benchmark of writing 10k employee summaries as a JSON array: mapped into a list first
+ * and serialized by reflection as before, mapped into a list and serialized by the
+ * {@link DtoSerializerModule}, and written one by one as they are mapped, as the list endpoints now do.
+ * Run with the GC profiler to see the bytes allocated per operation:
+ * </p>
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.i2i.ems.util.DtoSerializationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+  private static final int EMPLOYEES = 10_000;
+
+  private final OutputStream outputStream = OutputStream.nullOutputStream();
+  private ObjectMapper reflective;
+  private ObjectMapper handWritten;
+  private List<EmployeeSummary> summaries;
+
+  @Setup
+  public void setUp() {
+    reflective = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .build();
+    handWritten = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .modulesToInstall(new DtoSerializerModule())
+        .build();
+    summaries = new ArrayList<>(EMPLOYEES);
+    for (int i = 0; i < EMPLOYEES; i++) {
+      summaries.add(new EmployeeSummary(i, "uuid-" + i, "Employee " + i, "employee" + i + "@i2i.com",
+          9_000_000_000L + i, new Date(i * 86_400_000L)));
+    }
+  }
+
+  @Benchmark
+  public void reflectiveList() throws IOException {
+    reflective.writeValue(outputStream, list());
+  }
+
+  @Benchmark
+  public void handWrittenList() throws IOException {
+    handWritten.writeValue(outputStream, list());
+  }
+
+  @Benchmark
+  public void handWrittenStreamed() throws IOException {
+    try (JsonGenerator generator = handWritten.createGenerator(outputStream);
+         SequenceWriter writer = handWritten.writerFor(EmployeeDto.class)
+             .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+             .writeValuesAsArray(generator)) {
+      for (EmployeeSummary summary : summaries) {
+        writer.write(EmployeeMapper.summaryToDto(summary));
+      }
+    }
+  }
+
+  private List<EmployeeDto> list() {
+    List<EmployeeDto> employees = new ArrayList<>(summaries.size());
+    for (EmployeeSummary summary : summaries) {
+      employees.add(EmployeeMapper.summaryToDto(summary));
+    }
+    return employees;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(DtoSerializationBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build()).run();
+  }
+}
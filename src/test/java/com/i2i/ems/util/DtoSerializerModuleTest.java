@@ -0,0 +1,52 @@
+package com.i2i.ems.util;
+
+import java.util.Date;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.i2i.ems.dto.AccountDto;
+import com.i2i.ems.dto.EmployeeDto;
+import com.i2i.ems.dto.RoleDto;
+import com.i2i.ems.dto.SkillDto;
+import com.i2i.ems.model.Type;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DtoSerializerModuleTest {
+
+  private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json().build();
+  private final ObjectMapper handWritten = Jackson2ObjectMapperBuilder.json()
+      .modulesToInstall(new DtoSerializerModule())
+      .build();
+
+  @Test
+  void writesFullEmployeesLikeTheReflectiveSerializers() throws Exception {
+    EmployeeDto employee = EmployeeDto.builder()
+        .id(7)
+        .UUID("uuid-7")
+        .name("Anna \"Bell\"")
+        .dob(new Date(636_249_600_000L))
+        .email("anna@i2i.com")
+        .mobileNo(9876543210L)
+        .age(34)
+        .userType(Type.EMPLOYEE)
+        .password("secret")
+        .account(AccountDto.builder().id(3).bankName("Bank").accountNumber("123").ifscCode("IFSC1").build())
+        .role(RoleDto.builder().id(2).designation("Developer").level("L1").department("IT").build())
+        .skills(List.of(SkillDto.builder().id(1).name("Java").category("Backend").institute("i2i").build(),
+            SkillDto.builder().id(2).name("Kafka").build()))
+        .build();
+
+    assertEquals(reflective.writeValueAsString(employee), handWritten.writeValueAsString(employee));
+  }
+
+  @Test
+  void writesEmptyEmployeesLikeTheReflectiveSerializers() throws Exception {
+    List<EmployeeDto> employees = List.of(new EmployeeDto(), EmployeeDto.builder().skills(List.of()).build());
+
+    assertEquals(reflective.writeValueAsString(employees), handWritten.writeValueAsString(employees));
+  }
+}
@@ -0,0 +1,70 @@
+package com.i2i.ems.util;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.i2i.ems.model.EmployeeSearchRow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EmployeeSearchIndexTest {
+
+  private EmployeeSearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new EmployeeSearchIndex();
+    index.replace(List.of(1, 2, 3), List.of(
+        row(1, "Gobi Nath", "gobi@i2i.com", "Engineer", "IT", "Java"),
+        row(1, "Gobi Nath", "gobi@i2i.com", "Engineer", "IT", "Spring Boot"),
+        row(2, "Priya Dharshini", "priya@i2i.com", "Analyst", "Finance", "SQL"),
+        row(3, "Gopal Krishnan", "gopal@i2i.com", "Engineer", "IT", null)));
+  }
+
+  @Test
+  void searchMatchesThePrefixOfAnyWord() {
+    assertEquals(List.of(1, 3), index.search("go", 10));
+    assertEquals(List.of(1), index.search("SPR", 10));
+    assertEquals(List.of(2), index.search("fin", 10));
+    assertEquals(List.of(), index.search("ruby", 10));
+  }
+
+  @Test
+  void searchRequiresEveryWordToMatch() {
+    assertEquals(List.of(1, 3), index.search("eng it", 10));
+    assertEquals(List.of(1), index.search("eng java", 10));
+    assertEquals(List.of(), index.search("priya java", 10));
+  }
+
+  @Test
+  void searchMatchesEmailsAsAWhole() {
+    assertEquals(List.of(3), index.search("gopal@i2i", 10));
+    assertEquals(List.of(), index.search("@i2i.com", 10));
+  }
+
+  @Test
+  void searchStopsAtTheLimit() {
+    assertEquals(List.of(1), index.search("engineer", 1));
+  }
+
+  @Test
+  void replaceUpdatesAndRemovesEmployees() {
+    index.replace(List.of(1, 2), List.of(row(1, "Gobi Nath", "gobi@i2i.com", null, null, "Kotlin")));
+
+    assertEquals(List.of(1), index.search("kot", 10));
+    assertEquals(List.of(), index.search("java", 10));
+    assertEquals(List.of(3), index.search("eng", 10));
+    assertEquals(List.of(), index.search("priya", 10));
+    assertEquals(2, index.size());
+
+    index.remove(3);
+    assertEquals(List.of(1), index.search("go", 10));
+  }
+
+  private static EmployeeSearchRow row(int id, String name, String email, String designation,
+                                       String department, String skill) {
+    return new EmployeeSearchRow(id, name, email, designation, department, skill);
+  }
+}
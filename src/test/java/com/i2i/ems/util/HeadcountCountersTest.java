@@ -0,0 +1,77 @@
+package com.i2i.ems.util;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeadcountCountersTest {
+
+  private static final LocalDate TODAY = LocalDate.of(2024, 6, 15);
+
+  private HeadcountCounters counters;
+
+  @BeforeEach
+  void setUp() {
+    counters = new HeadcountCounters();
+    counters.reload(Map.of(
+        1, profile("IT", "Developer", "L1", LocalDate.of(1999, 6, 16), "Backend"),
+        2, profile("IT", "Tester", "L1", LocalDate.of(1990, 1, 1), "Backend", "Testing"),
+        3, profile("HR", "Recruiter", "L2", LocalDate.of(1960, 1, 1))));
+  }
+
+  @Test
+  void replaceMovesEmployeesBetweenCounters() {
+    counters.replace(List.of(1, 3), Map.of(1, profile("HR", "Recruiter", "L2", LocalDate.of(1999, 6, 16))));
+
+    assertEquals(2, counters.getHeadcount());
+    assertEquals(Map.of("HR", 1L, "IT", 1L), counters.getDepartments());
+    assertEquals(Map.of("Recruiter", 1L, "Tester", 1L), counters.getDesignations());
+    assertEquals(Map.of("L1", 1L, "L2", 1L), counters.getLevels());
+    assertEquals(Map.of("Backend", 1L, "Testing", 1L), counters.getSkillCategories());
+  }
+
+  @Test
+  void reloadReportsDrift() {
+    counters.replace(List.of(3), Map.of());
+    counters.replace(List.of(4), Map.of(4, profile("IT", "Developer", "L1", null, "Backend")));
+
+    Map<String, Long> drift = counters.reload(Map.of(
+        1, profile("IT", "Developer", "L1", LocalDate.of(1999, 6, 16), "Backend"),
+        2, profile("IT", "Tester", "L1", LocalDate.of(1990, 1, 1), "Backend", "Testing"),
+        3, profile("HR", "Recruiter", "L2", LocalDate.of(1960, 1, 1))));
+
+    assertEquals(-1L, drift.get("department:HR"));
+    assertEquals(1L, drift.get("department:IT"));
+    assertEquals(1L, drift.get("skillCategory:Backend"));
+    assertEquals(-1L, drift.get("birthDate:1960-01-01"));
+    assertTrue(!drift.containsKey("headcount:"));
+    assertTrue(counters.reload(Map.of(
+        1, profile("IT", "Developer", "L1", LocalDate.of(1999, 6, 16), "Backend"),
+        2, profile("IT", "Tester", "L1", LocalDate.of(1990, 1, 1), "Backend", "Testing"),
+        3, profile("HR", "Recruiter", "L2", LocalDate.of(1960, 1, 1)))).isEmpty());
+  }
+
+  @Test
+  void ageBandsAreCountedAsOfTheDay() {
+    List<Integer> bounds = List.of(25, 35, 45, 55);
+
+    assertEquals(Map.of("<25", 1L, "25-34", 1L, "35-44", 0L, "45-54", 0L, "55+", 1L),
+        counters.getAgeBands(TODAY, bounds));
+    assertEquals(Map.of("<25", 0L, "25-34", 2L, "35-44", 0L, "45-54", 0L, "55+", 1L),
+        counters.getAgeBands(TODAY.plusDays(1), bounds));
+    assertEquals(List.of("<25", "25-34", "35-44", "45-54", "55+"),
+        List.copyOf(counters.getAgeBands(TODAY, bounds).keySet()));
+  }
+
+  private static HeadcountCounters.Profile profile(String department, String designation, String level,
+                                                   LocalDate dob, String... skillCategories) {
+    return new HeadcountCounters.Profile(department, designation, level, dob, Set.of(skillCategories));
+  }
+}
@@ -0,0 +1,85 @@
+package com.i2i.ems.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtKeysetTest {
+
+  @TempDir
+  private Path directory;
+
+  private Path keysetFile;
+  private JwtKeyset keyset;
+
+  @BeforeEach
+  void setUp() {
+    keysetFile = directory.resolve("keyset.properties");
+    keyset = new JwtKeyset();
+    ReflectionTestUtils.setField(keyset, "keysetPath", keysetFile.toString());
+    ReflectionTestUtils.setField(keyset, "activationDelay", Duration.ofMinutes(2));
+  }
+
+  @Test
+  void addingAKeyDoesNotMakeTheOlderKeysNew() throws IOException {
+    write("key-9", Instant.now().minus(Duration.ofHours(1)));
+    keyset.init();
+    assertEquals("key-9", keyset.getSigningKid());
+
+    append("key-10", Instant.now());
+    keyset.reload();
+    assertTrue(keyset.contains("key-10"));
+    assertEquals("key-9", keyset.getSigningKid());
+  }
+
+  @Test
+  void signsWithTheNewestActiveKeyWhateverItsKid() throws IOException {
+    write("key-9", Instant.now().minus(Duration.ofHours(1)));
+    keyset.init();
+
+    append("key-10", Instant.now().minus(Duration.ofMinutes(10)));
+    keyset.reload();
+    assertEquals("key-10", keyset.getSigningKid());
+  }
+
+  @Test
+  void keysWrittenAtOnceAreOrderedByTheirPosition() throws IOException {
+    write("key-9", Instant.now());
+    append("key-10", Instant.now());
+    keyset.init();
+    assertEquals("key-9", keyset.getSigningKid());
+
+    Files.setLastModifiedTime(keysetFile, FileTime.from(Instant.now().minus(Duration.ofMinutes(10))));
+    ReflectionTestUtils.setField(keyset, "activationDelay", Duration.ZERO);
+    keyset.reload();
+    assertEquals("key-10", keyset.getSigningKid());
+  }
+
+  private void write(String kid, Instant modified) throws IOException {
+    Files.writeString(keysetFile, entry(kid));
+    Files.setLastModifiedTime(keysetFile, FileTime.from(modified));
+  }
+
+  private void append(String kid, Instant modified) throws IOException {
+    Files.writeString(keysetFile, entry(kid), StandardOpenOption.APPEND);
+    Files.setLastModifiedTime(keysetFile, FileTime.from(modified));
+  }
+
+  private static String entry(String kid) {
+    return kid + "=" + Base64.getEncoder().encodeToString((kid + "-secret-of-at-least-32-bytes-long").getBytes())
+        + System.lineSeparator();
+  }
+}
@@ -0,0 +1,111 @@
+package com.i2i.ems.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import com.i2i.ems.model.SkillAssignment;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SkillBitmapIndexTest {
+
+  private static final int JAVA = 1;
+  private static final int KAFKA = 2;
+  private static final int AWS = 3;
+
+  private SkillBitmapIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new SkillBitmapIndex();
+    index.load(Map.of(
+        JAVA, RoaringBitmap.bitmapOf(1, 2, 3, 4),
+        KAFKA, RoaringBitmap.bitmapOf(2, 3, 5),
+        AWS, RoaringBitmap.bitmapOf(3, 4, 5)));
+  }
+
+  @Test
+  void queryCombinesAllAnyAndNone() {
+    assertArrayEquals(new int[]{2, 3}, index.query(List.of(JAVA, KAFKA), List.of(), List.of()).toArray());
+    assertArrayEquals(new int[]{2, 3, 4, 5}, index.query(List.of(), List.of(KAFKA, AWS), List.of()).toArray());
+    assertArrayEquals(new int[]{2}, index.query(List.of(JAVA, KAFKA), List.of(), List.of(AWS)).toArray());
+    assertArrayEquals(new int[]{2, 3, 4}, index.query(List.of(JAVA), List.of(AWS, KAFKA), List.of()).toArray());
+    assertArrayEquals(new int[]{}, index.query(List.of(JAVA, 99), List.of(), List.of()).toArray());
+  }
+
+  @Test
+  void queryRequiresSkillsToHave() {
+    assertThrows(IllegalArgumentException.class, () -> index.query(List.of(), List.of(), List.of(JAVA)));
+  }
+
+  @Test
+  void changesDoNotAffectEarlierResults() {
+    RoaringBitmap before = index.query(List.of(KAFKA), List.of(), List.of());
+    index.add(KAFKA, 1);
+    index.replace(3, List.of(JAVA));
+    index.removeEmployee(5);
+
+    assertArrayEquals(new int[]{2, 3, 5}, before.toArray());
+    assertArrayEquals(new int[]{1, 2}, index.query(List.of(KAFKA), List.of(), List.of()).toArray());
+    assertArrayEquals(new int[]{4}, index.query(List.of(AWS), List.of(), List.of()).toArray());
+    assertArrayEquals(new int[]{1, 2, 3, 4}, index.query(List.of(JAVA), List.of(), List.of()).toArray());
+  }
+
+  @Test
+  void updateRemovesBeforeAddingWithoutAffectingEarlierResults() {
+    RoaringBitmap before = index.query(List.of(JAVA), List.of(), List.of());
+    index.update(
+        List.of(new SkillAssignment(JAVA, 5), new SkillAssignment(KAFKA, 1), new SkillAssignment(AWS, 4)),
+        List.of(new SkillAssignment(JAVA, 1), new SkillAssignment(JAVA, 2), new SkillAssignment(AWS, 4)));
+
+    assertArrayEquals(new int[]{1, 2, 3, 4}, before.toArray());
+    assertArrayEquals(new int[]{3, 4, 5}, index.query(List.of(JAVA), List.of(), List.of()).toArray());
+    assertArrayEquals(new int[]{1, 2, 3, 5}, index.query(List.of(KAFKA), List.of(), List.of()).toArray());
+    assertArrayEquals(new int[]{3, 4, 5}, index.query(List.of(AWS), List.of(), List.of()).toArray());
+  }
+
+  @Test
+  void removedSkillsMatchNoEmployees() {
+    index.removeSkill(KAFKA);
+
+    assertArrayEquals(new int[]{}, index.query(List.of(KAFKA), List.of(), List.of()).toArray());
+    assertArrayEquals(new int[]{1, 2, 3, 4}, index.query(List.of(JAVA), List.of(), List.of(KAFKA)).toArray());
+
+    index.replaceSkill(KAFKA, List.of(1, 5));
+    assertArrayEquals(new int[]{1, 5}, index.query(List.of(KAFKA), List.of(), List.of()).toArray());
+  }
+
+  @Test
+  void loadKeepsTrackOfTheChangesMadeWhileItWasRead() {
+    index.startLoad();
+    index.add(KAFKA, 1);
+    index.removeSkill(AWS);
+    Set<Integer> changed = index.load(Map.of(
+        JAVA, RoaringBitmap.bitmapOf(1, 2),
+        KAFKA, RoaringBitmap.bitmapOf(2, 3),
+        AWS, RoaringBitmap.bitmapOf(3, 4)));
+
+    assertEquals(Set.of(1), changed);
+    assertArrayEquals(new int[]{1, 2}, index.query(List.of(JAVA), List.of(), List.of()).toArray());
+    assertArrayEquals(new int[]{}, index.query(List.of(AWS), List.of(), List.of()).toArray());
+
+    index.add(KAFKA, 4);
+    assertEquals(Set.of(), index.load(Map.of(JAVA, RoaringBitmap.bitmapOf(1))));
+  }
+
+  @Test
+  void pageSkipsTheOffset() {
+    RoaringBitmap employees = RoaringBitmap.bitmapOf(3, 7, 9, 20, 31);
+    assertEquals(List.of(3, 7), SkillBitmapIndex.page(employees, 0, 2));
+    assertEquals(List.of(9, 20), SkillBitmapIndex.page(employees, 2, 2));
+    assertEquals(List.of(31), SkillBitmapIndex.page(employees, 4, 2));
+    assertEquals(List.of(), SkillBitmapIndex.page(employees, 6, 2));
+  }
+}
@@ -0,0 +1,62 @@
+package com.i2i.ems.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.i2i.ems.dto.SkillDto;
+import com.i2i.ems.model.Skill;
+import com.i2i.ems.model.SkillCatalogVersion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SkillCatalogTest {
+
+  private static final String JSON = "[{\"id\":1,\"name\":\"Java\"}]";
+
+  private SkillCatalog catalog;
+
+  @BeforeEach
+  void setUp() {
+    catalog = new SkillCatalog();
+    catalog.replace(List.of(SkillDto.builder().id(1).name("Java").build()), Map.of(1, 3),
+        JSON.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void replaceTagsTheCatalogByItsJson() {
+    String tag = catalog.getSnapshot().tag();
+    catalog.replace(List.of(), Map.of(1, 4), JSON.getBytes(StandardCharsets.UTF_8));
+    assertEquals(tag, catalog.getSnapshot().tag());
+
+    catalog.replace(List.of(), Map.of(), "[]".getBytes(StandardCharsets.UTF_8));
+    assertNotEquals(tag, catalog.getSnapshot().tag());
+  }
+
+  @Test
+  void isCurrentComparesTheSavedVersions() {
+    assertTrue(catalog.isCurrent(List.of(skill(1, 3, false))));
+    assertTrue(catalog.isCurrent(List.of(skill(2, 0, true))));
+    assertFalse(catalog.isCurrent(List.of(skill(1, 4, false))));
+    assertFalse(catalog.isCurrent(List.of(skill(1, 3, false), skill(2, 0, false))));
+    assertFalse(catalog.isCurrent(List.of(skill(1, 4, true))));
+  }
+
+  @Test
+  void isCurrentComparesTheSummedUpVersions() {
+    assertTrue(catalog.isCurrent(new SkillCatalogVersion(1, 1, 3)));
+    assertFalse(catalog.isCurrent(new SkillCatalogVersion(1, 1, 4)));
+    assertFalse(catalog.isCurrent(new SkillCatalogVersion(1, 2, 3)));
+    assertFalse(catalog.isCurrent(new SkillCatalogVersion(2, 3, 3)));
+  }
+
+  private static Skill skill(int id, int version, boolean deleted) {
+    return Skill.builder().id(id).name("Skill " + id).version(version).isDeleted(deleted).build();
+  }
+}